@@ -0,0 +1,104 @@
+package benchmarks;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.poi.xssf.usermodel.XSSFRow;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import utilities.Excelutility;
+import utilities.SheetBinaryCache;
+import utilities.WorkbookCache;
+
+/**
+ * Excelutility reads on a generated test-data workbook, at each cache level:
+ * a cell read from the in-memory cache (every read after the first), the
+ * first read in a new JVM that loads the compiled .bin cache, and the first
+ * read ever, which parses the .xlsx with POI and writes the .bin.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExcelutilityBenchmark {
+
+    private static final String SHEET = "LoginData";
+    private static final int COLUMNS = 4;
+
+    @Param({"100", "1000"})
+    public int rows;
+
+    private File workbook;
+    private Excelutility excel;
+    private int row;
+
+    @Setup
+    public void createWorkbook() throws IOException {
+        workbook = Files.createTempDirectory("orangehrm-excel").resolve("testdata.xlsx").toFile();
+        try (XSSFWorkbook book = new XSSFWorkbook(); FileOutputStream out = new FileOutputStream(workbook)) {
+            XSSFSheet sheet = book.createSheet(SHEET);
+            for (int r = 0; r <= rows; r++) {
+                XSSFRow cells = sheet.createRow(r);
+                for (int c = 0; c < COLUMNS; c++) {
+                    if (r == 0) {
+                        cells.createCell(c).setCellValue("Column" + c);
+                    } else if (c == COLUMNS - 1) {
+                        cells.createCell(c).setCellValue(r * 10 + c);
+                    } else {
+                        cells.createCell(c).setCellValue("user" + r + "_" + c);
+                    }
+                }
+            }
+            book.write(out);
+        }
+        excel = new Excelutility(workbook.getPath());
+        excel.getRowCount(SHEET);
+    }
+
+    @TearDown
+    public void deleteWorkbook() throws IOException {
+        WorkbookCache.invalidate(workbook.getPath());
+        Files.deleteIfExists(SheetBinaryCache.cacheFile(workbook).toPath());
+        Files.deleteIfExists(workbook.toPath());
+        Files.deleteIfExists(workbook.getParentFile().toPath());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String cachedCellRead() throws IOException {
+        row = row % rows + 1;
+        return excel.getCellData(SHEET, row, 1);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int compiledCacheLoad() throws IOException {
+        WorkbookCache.invalidate(workbook.getPath());
+        return excel.getRowCount(SHEET);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int poiParse() throws IOException {
+        WorkbookCache.invalidate(workbook.getPath());
+        Files.deleteIfExists(SheetBinaryCache.cacheFile(workbook).toPath());
+        return excel.getRowCount(SHEET);
+    }
+}
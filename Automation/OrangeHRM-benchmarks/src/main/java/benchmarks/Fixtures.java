@@ -0,0 +1,45 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+
+/**
+ * Saved OrangeHRM pages under /fixtures, opened in HtmlUnit with JavaScript
+ * on (the page objects read lists through executeScript). The markup keeps
+ * the structure and classes the page objects locate and drops the rest;
+ * refresh it from a LocatorProfiling run's target/locator-profile/snapshots
+ * when the application's DOM changes.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    /** A new driver with the fixture page loaded from a file URL. */
+    static HtmlUnitDriver open(String fixture) {
+        HtmlUnitDriver driver = new HtmlUnitDriver(true);
+        driver.get(copy(fixture).toUri().toString());
+        return driver;
+    }
+
+    private static Path copy(String fixture) {
+        try (InputStream in = Fixtures.class.getResourceAsStream("/fixtures/" + fixture)) {
+            if (in == null) {
+                throw new IllegalArgumentException("No fixture " + fixture);
+            }
+            Path file = Files.createTempDirectory("orangehrm-fixture").resolve(fixture);
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+            file.toFile().deleteOnExit();
+            file.getParent().toFile().deleteOnExit();
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+
+import basePage.NavBar;
+import pageObjects.DashboardPage;
+
+/**
+ * List getters of NavBar and DashboardPage on the dashboard fixture. They
+ * read through ElementBatch (one executeScript per list); perElementGetText
+ * is the findElements + getText-per-element stream they replaced, as a
+ * baseline. In HtmlUnit a command is an in-process call rather than a
+ * round trip to a browser, so the baseline looks far cheaper here than it
+ * is against Chrome; track each getter across changes rather than comparing
+ * it with the baseline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListGetterBenchmark {
+
+    private static final By MENU_ITEM_NAMES = By.cssSelector("a.oxd-main-menu-item span.oxd-main-menu-item--name");
+
+    private HtmlUnitDriver driver;
+    private NavBar navBar;
+    private DashboardPage dashboardPage;
+
+    @Setup
+    public void open() {
+        driver = Fixtures.open("dashboard.html");
+        navBar = new NavBar(driver);
+        dashboardPage = new DashboardPage(driver);
+    }
+
+    @TearDown
+    public void close() {
+        driver.quit();
+    }
+
+    @Benchmark
+    public List<String> menuItemNames() {
+        return navBar.getMainMenuItemNames();
+    }
+
+    @Benchmark
+    public List<String> menuItemLinks() {
+        return navBar.getMainMenuItemLinks();
+    }
+
+    @Benchmark
+    public List<String> buzzPostContents() {
+        return dashboardPage.getAllBuzzPostContents();
+    }
+
+    @Benchmark
+    public List<String> subUnitLegendNames() {
+        return dashboardPage.getSubUnitLegendNames();
+    }
+
+    @Benchmark
+    public List<String> perElementGetText() {
+        return driver.findElements(MENU_ITEM_NAMES).stream()
+                .map(WebElement::getText)
+                .collect(Collectors.toList());
+    }
+}
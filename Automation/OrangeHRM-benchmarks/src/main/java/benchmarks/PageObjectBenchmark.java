@@ -0,0 +1,72 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+
+import basePage.Header;
+import basePage.NavBar;
+import pageObjects.DashboardPage;
+import pageObjects.LoginPage;
+
+/**
+ * Cost of constructing page objects: PageFactory.initElements reflection and
+ * proxy creation in BasePage. No driver command is sent - the proxies are
+ * lazy - so this is pure framework overhead per page object per test.
+ * LoginPage is built on the login fixture, the rest on the dashboard.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageObjectBenchmark {
+
+    private HtmlUnitDriver loginDriver;
+    private HtmlUnitDriver driver;
+
+    @Setup
+    public void open() {
+        loginDriver = Fixtures.open("login.html");
+        driver = Fixtures.open("dashboard.html");
+    }
+
+    @TearDown
+    public void close() {
+        loginDriver.quit();
+        driver.quit();
+    }
+
+    @Benchmark
+    public LoginPage loginPage() {
+        return new LoginPage(loginDriver);
+    }
+
+    @Benchmark
+    public Header header() {
+        return new Header(driver);
+    }
+
+    @Benchmark
+    public NavBar navBar() {
+        return new NavBar(driver);
+    }
+
+    /** Includes the Header and NavBar it builds. */
+    @Benchmark
+    public DashboardPage dashboardPage() {
+        return new DashboardPage(driver);
+    }
+}
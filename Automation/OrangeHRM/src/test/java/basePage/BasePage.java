@@ -1,18 +1,135 @@
 package basePage;
 
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.PageFactory;
+import org.openqa.selenium.support.pagefactory.Annotations;
 
 
 
 public class BasePage {
-		
-	WebDriver driver;
-		
+
+	private static final Map<String, Field> FIELDS = new ConcurrentHashMap<>();
+	private static final Map<Field, By> LOCATORS = new ConcurrentHashMap<>();
+
+	protected WebDriver driver;
+	protected WaitEngine waits;
+	private final CachingElementLocatorFactory elements;
+
 	public BasePage(WebDriver driver) {
 		this.driver = driver;
-		PageFactory.initElements(driver,this);
+		this.waits = new WaitEngine(driver);
+		this.elements = new CachingElementLocatorFactory(driver);
+		PageFactory.initElements(elements.decorator(), this);
 	}
 
-}
+	/**
+	 * The locator declared by a field's @FindBy annotation, so batch reads
+	 * use the same locator as the PageFactory proxy for that field.
+	 */
+	protected By locatorOf(String fieldName) {
+		return LOCATORS.computeIfAbsent(fieldOf(fieldName), field -> new Annotations(field).buildBy());
+	}
+
+	private Field fieldOf(String fieldName) {
+		String key = getClass().getName() + "#" + fieldName;
+		Field cached = FIELDS.get(key);
+		if (cached != null) {
+			return cached;
+		}
+		for (Class<?> type = getClass(); type != BasePage.class; type = type.getSuperclass()) {
+			try {
+				Field field = type.getDeclaredField(fieldName);
+				FIELDS.put(key, field);
+				return field;
+			} catch (NoSuchFieldException e) {
+				// Declared further up the hierarchy
+			}
+		}
+		throw new IllegalArgumentException("No @FindBy field '" + fieldName + "' on " + getClass().getName());
+	}
+
+	/**
+	 * Rendered text of every element of a @FindBy list field, in one round trip
+	 * once the list has rendered; empty if it stays empty until the timeout.
+	 */
+	protected List<String> textsOf(String fieldName) {
+		By locator = locatorOf(fieldName);
+		return nonEmpty(fieldName, () -> ElementBatch.texts(driver, locator));
+	}
+
+	/** An attribute of every element of a @FindBy list field, like textsOf. */
+	protected List<String> attributesOf(String fieldName, String attribute) {
+		By locator = locatorOf(fieldName);
+		return nonEmpty(fieldName, () -> ElementBatch.attributes(driver, locator, attribute));
+	}
+
+	/**
+	 * Properties of every element of a @FindBy list field as read by
+	 * ElementBatch.extract, in one round trip and without waiting.
+	 */
+	protected List<Map<String, String>> extractOf(String fieldName, String... properties) {
+		By locator = locatorOf(fieldName);
+		return profiled(fieldName, () -> ElementBatch.extract(driver, locator, properties));
+	}
 
+	/**
+	 * Waits until the element of a @FindBy field is displayed; false at the
+	 * timeout. Meant for elements that should be there - an absent one costs
+	 * the full WaitTimeoutSeconds, so checks that may well be false use
+	 * isVisibleOnceRendered() or a short timeout instead.
+	 */
+	protected boolean isVisible(String fieldName) {
+		return isVisible(fieldName, WaitEngine.getDefaultTimeout());
+	}
+
+	/** Like isVisible(String), giving up after the timeout. */
+	protected boolean isVisible(String fieldName, Duration timeout) {
+		CachingElementLocatorFactory.CachingElementLocator locator = elements.locatorFor(fieldName);
+		return locator == null ? waits.visible(locatorOf(fieldName), timeout)
+				: waits.until(d -> locator.isDisplayedNow(), timeout) != null;
+	}
+
+	/**
+	 * For elements that may legitimately be missing, such as role-dependent
+	 * menu links: waits only for the component they belong to (another
+	 * @FindBy field) to render, then checks the element without waiting.
+	 */
+	protected boolean isVisibleOnceRendered(String componentField, String fieldName) {
+		return isVisible(componentField) && isVisibleNow(fieldName);
+	}
+
+	/** Whether the element of a @FindBy field is displayed right now, without waiting. */
+	protected boolean isVisibleNow(String fieldName) {
+		CachingElementLocatorFactory.CachingElementLocator locator = elements.locatorFor(fieldName);
+		return locator == null ? waits.isVisibleNow(locatorOf(fieldName)) : locator.isDisplayedNow();
+	}
+
+	/**
+	 * One batch read of a field, recorded with LocatorProfiler like a proxy
+	 * lookup; its time includes reading the values, done in the same round trip.
+	 */
+	private <T> List<T> profiled(String fieldName, Supplier<List<T>> read) {
+		long start = System.nanoTime();
+		List<T> values = read.get();
+		LocatorProfiler.record(driver, fieldOf(fieldName).getDeclaringClass(), fieldName, locatorOf(fieldName),
+				System.nanoTime() - start, !values.isEmpty());
+		return values;
+	}
+
+	private <T> List<T> nonEmpty(String fieldName, Supplier<List<T>> read) {
+		List<T> values = waits.until(d -> {
+			List<T> current = profiled(fieldName, read);
+			return current.isEmpty() ? null : current;
+		});
+		return values == null ? List.of() : values;
+	}
+
+}
@@ -0,0 +1,213 @@
+package basePage;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.openqa.selenium.support.pagefactory.DefaultFieldDecorator;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.openqa.selenium.support.pagefactory.ElementLocatorFactory;
+import org.openqa.selenium.support.pagefactory.FieldDecorator;
+
+/**
+ * PageFactory locators for one page object that remember the element each
+ * @FindBy field resolved to. The cached element is reused for as long as it
+ * belongs to the current page; once the SPA re-renders or navigates, the
+ * next command on it throws StaleElementReferenceException, and the field
+ * proxy re-finds the element and retries the command once.
+ *
+ * Lookups wait through WaitEngine: a single element until it is present, a
+ * list until it has at least one element (lists are never cached).
+ * Process-wide hit, miss and stale counters are available from statistics().
+ */
+public class CachingElementLocatorFactory implements ElementLocatorFactory {
+
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+    private static final AtomicLong STALE_REFINDS = new AtomicLong();
+
+    private final WebDriver driver;
+    private final Map<String, CachingElementLocator> locators = new HashMap<>();
+
+    public CachingElementLocatorFactory(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    @Override
+    public CachingElementLocator createLocator(Field field) {
+        CachingElementLocator locator = new CachingElementLocator(driver, new Annotations(field).buildBy(),
+                field.getDeclaringClass(), field.getName());
+        locators.put(field.getName(), locator);
+        return locator;
+    }
+
+    /** The locator created for a field of the page object, or null if there is none. */
+    public CachingElementLocator locatorFor(String fieldName) {
+        return locators.get(fieldName);
+    }
+
+    /** Decorator that gives WebElement fields stale-retrying proxies. */
+    public FieldDecorator decorator() {
+        return new DefaultFieldDecorator(this) {
+            @Override
+            protected WebElement proxyForLocator(ClassLoader loader, ElementLocator locator) {
+                return (WebElement) Proxy.newProxyInstance(loader,
+                        new Class<?>[] {WebElement.class, WrapsElement.class, Locatable.class},
+                        new StaleRetryingHandler((CachingElementLocator) locator));
+            }
+        };
+    }
+
+    /** Element lookups answered from cache since start-up. */
+    public static long hits() {
+        return HITS.get();
+    }
+
+    /** Element lookups that went to the driver since start-up. */
+    public static long misses() {
+        return MISSES.get();
+    }
+
+    /** Cached elements found stale and re-resolved since start-up. */
+    public static long staleRefinds() {
+        return STALE_REFINDS.get();
+    }
+
+    public static String statistics() {
+        long hits = hits();
+        long total = hits + misses();
+        return String.format("element cache: %d hits, %d misses, %d stale re-finds (%.1f%% hit rate)",
+                hits, misses(), staleRefinds(), total == 0 ? 0.0 : 100.0 * hits / total);
+    }
+
+    /** Locator for one field, caching the element it last resolved to. */
+    public static class CachingElementLocator implements ElementLocator {
+        private final WebDriver driver;
+        private final By by;
+        private final WaitEngine waits;
+        private final Class<?> pageClass;
+        private final String fieldName;
+        private WebElement cached;
+
+        CachingElementLocator(WebDriver driver, By by, Class<?> pageClass, String fieldName) {
+            this.driver = driver;
+            this.by = by;
+            this.waits = new WaitEngine(driver);
+            this.pageClass = pageClass;
+            this.fieldName = fieldName;
+        }
+
+        @Override
+        public WebElement findElement() {
+            WebElement element = waits.until(d -> findNow());
+            if (element == null) {
+                throw new NoSuchElementException("No element present within "
+                        + WaitEngine.getDefaultTimeout().toSeconds() + "s: " + by);
+            }
+            return element;
+        }
+
+        @Override
+        public List<WebElement> findElements() {
+            List<WebElement> found = waits.until(d -> {
+                List<WebElement> elements = lookUp();
+                return elements.isEmpty() ? null : elements;
+            });
+            return found == null ? List.of() : found;
+        }
+
+        /** The cached element, or the first match looked up now; null if there is none. Never waits. */
+        public WebElement findNow() {
+            if (cached != null) {
+                HITS.incrementAndGet();
+                return cached;
+            }
+            List<WebElement> found = lookUp();
+            cached = found.isEmpty() ? null : found.get(0);
+            return cached;
+        }
+
+        private List<WebElement> lookUp() {
+            MISSES.incrementAndGet();
+            long start = System.nanoTime();
+            List<WebElement> found = driver.findElements(by);
+            LocatorProfiler.record(driver, pageClass, fieldName, by, System.nanoTime() - start, !found.isEmpty());
+            return found;
+        }
+
+        /** Whether the element is displayed right now, re-finding it once if the cached one went stale. */
+        public boolean isDisplayedNow() {
+            WebElement element = findNow();
+            if (element == null) {
+                return false;
+            }
+            try {
+                return element.isDisplayed();
+            } catch (StaleElementReferenceException e) {
+                STALE_REFINDS.incrementAndGet();
+                invalidate();
+                element = findNow();
+                return element != null && element.isDisplayed();
+            }
+        }
+
+        /** Forget the cached element so the next lookup goes to the driver. */
+        public void invalidate() {
+            cached = null;
+        }
+
+        public By getBy() {
+            return by;
+        }
+
+        @Override
+        public String toString() {
+            return "Caching locator for " + by;
+        }
+    }
+
+    /** Runs a WebElement call on the cached element, retrying once on a fresh one if it was stale. */
+    private static class StaleRetryingHandler implements InvocationHandler {
+        private final CachingElementLocator locator;
+
+        StaleRetryingHandler(CachingElementLocator locator) {
+            this.locator = locator;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            WebElement element = locator.findElement();
+            if ("getWrappedElement".equals(method.getName())) {
+                return element;
+            }
+            try {
+                return method.invoke(element, args);
+            } catch (InvocationTargetException e) {
+                if (!(e.getCause() instanceof StaleElementReferenceException)) {
+                    throw e.getCause();
+                }
+            }
+            STALE_REFINDS.incrementAndGet();
+            locator.invalidate();
+            try {
+                return method.invoke(locator.findElement(), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package basePage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Reads text and attributes of every element matching a locator in one
+ * executeScript round trip, instead of one getText()/getAttribute() command
+ * per element. Supported locators are css, xpath, id, name, className and tagName.
+ *
+ * Properties are named as follows:
+ * <ul>
+ *   <li>"text" - rendered text of the element, like WebElement.getText()</li>
+ *   <li>"@name" - like WebElement.getAttribute(name): the DOM property if present, else the attribute</li>
+ *   <li>"text:css" - rendered text of the element's first descendant matching css, "" if none</li>
+ * </ul>
+ */
+public final class ElementBatch {
+
+    /** Collects the matches of arguments[0]/[1] into els and defines text(e). */
+    private static final String FIND =
+            "var using = arguments[0], value = arguments[1], els = [];"
+          + "if (using === 'xpath') {"
+          + "  var found = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);"
+          + "  for (var i = 0; i < found.snapshotLength; i++) { els.push(found.snapshotItem(i)); }"
+          + "} else {"
+          + "  els = Array.prototype.slice.call(document.querySelectorAll(value));"
+          + "}"
+          + "function text(e) {"
+          + "  if (!e || e.getClientRects().length === 0) { return ''; }"
+          + "  return (e.innerText || '').replace(/[ \\t\\u00a0]+/g, ' ').replace(/ *\\n */g, '\\n').trim();"
+          + "}";
+
+    private static final String EXTRACT = FIND
+          + "var props = arguments[2];"
+          + "return els.map(function (e) {"
+          + "  return props.map(function (p) {"
+          + "    if (p === 'text') { return text(e); }"
+          + "    if (p.indexOf('text:') === 0) { return text(e.querySelector(p.substring(5))); }"
+          + "    var name = p.substring(1), v = (name in e) ? e[name] : e.getAttribute(name);"
+          + "    return v === null || v === undefined ? null : String(v);"
+          + "  });"
+          + "});";
+
+    private ElementBatch() {
+    }
+
+    /** One map of property name to value per matching element, in document order. */
+    public static List<Map<String, String>> extract(WebDriver driver, By locator, String... properties) {
+        By.Remotable.Parameters parameters = parameters(locator);
+        List<?> rows = (List<?>) ((JavascriptExecutor) driver).executeScript(EXTRACT,
+                parameters.using(), parameters.value(), Arrays.asList(properties));
+        List<Map<String, String>> result = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            List<?> values = (List<?>) row;
+            Map<String, String> element = new LinkedHashMap<>();
+            for (int i = 0; i < properties.length; i++) {
+                Object value = values.get(i);
+                element.put(properties[i], value == null ? null : value.toString());
+            }
+            result.add(element);
+        }
+        return result;
+    }
+
+    /** Rendered text of every matching element. */
+    public static List<String> texts(WebDriver driver, By locator) {
+        return column(driver, locator, "text");
+    }
+
+    /** The named attribute of every matching element. */
+    public static List<String> attributes(WebDriver driver, By locator, String attribute) {
+        return column(driver, locator, "@" + attribute);
+    }
+
+    /** Every matching element paired with its rendered text, in document order. */
+    public static List<Map.Entry<WebElement, String>> elementsWithText(WebDriver driver, By locator) {
+        By.Remotable.Parameters parameters = parameters(locator);
+        List<?> pairs = (List<?>) ((JavascriptExecutor) driver).executeScript(FIND
+                + "return els.map(function (e) { return [e, text(e)]; });",
+                parameters.using(), parameters.value());
+        List<Map.Entry<WebElement, String>> result = new ArrayList<>(pairs.size());
+        for (Object pair : pairs) {
+            List<?> values = (List<?>) pair;
+            result.add(Map.entry((WebElement) values.get(0), String.valueOf(values.get(1))));
+        }
+        return result;
+    }
+
+    private static List<String> column(WebDriver driver, By locator, String property) {
+        return extract(driver, locator, property).stream().map(element -> element.get(property)).toList();
+    }
+
+    /** The locator as a CSS selector or XPath the script can evaluate. */
+    private static By.Remotable.Parameters parameters(By locator) {
+        if (locator instanceof By.Remotable) {
+            By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+            String value = String.valueOf(parameters.value());
+            switch (parameters.using()) {
+                case "css selector":
+                case "xpath":
+                    return parameters;
+                case "id":
+                case "name":
+                    return css("*[" + parameters.using() + "=" + quote(value) + "]");
+                case "class name":
+                    return css("*[class~=" + quote(value) + "]");
+                case "tag name":
+                    return css(value);
+                default:
+                    break;
+            }
+        }
+        throw new IllegalArgumentException("Batch reads need a CSS, XPath, id, name, class or tag locator: " + locator);
+    }
+
+    private static By.Remotable.Parameters css(String selector) {
+        return new By.Remotable.Parameters("css selector", selector);
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
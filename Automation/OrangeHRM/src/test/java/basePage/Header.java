@@ -1,5 +1,6 @@
 package basePage;
 
+import java.time.Duration;
 import java.util.List;
 
 import org.openqa.selenium.WebDriver;
@@ -13,6 +14,9 @@ import org.openqa.selenium.support.FindBy;
  * Uses PageFactory for element initialization.
  */
 public class Header extends BasePage {
+
+    // How long the user drop down gets to open after its tab is clicked
+    private static final Duration DROPDOWN_SETTLE = Duration.ofSeconds(1);
 	
      // ===== Constructor =====
     public Header(WebDriver driver) {
@@ -25,7 +29,7 @@ public class Header extends BasePage {
 
     // Bread crumb module title (e.g., "Dash board")
     @FindBy(css = ".oxd-topbar-header-breadcrumb-module")
-    private static WebElement breadcrumbModuleTitle;
+    private WebElement breadcrumbModuleTitle;
 
     // User area (right side)
     @FindBy(css = ".oxd-topbar-header-userarea")
@@ -82,8 +86,8 @@ public class Header extends BasePage {
     }
 
     /** Get the current bread crumb/module title */
-    public static String getBreadcrumbModuleTitle() {
-        return  breadcrumbModuleTitle.getText();
+    public String getBreadcrumbModuleTitle() {
+        return breadcrumbModuleTitle.getText();
     }
 
     /** Get the user name displayed in the header */
@@ -103,22 +107,22 @@ public class Header extends BasePage {
 
     /** Check if the user area is displayed */
     public boolean isUserAreaDisplayed() {
-        return userArea.isDisplayed();
+        return isVisible("userArea");
     }
 
-    /** Check if the user drop down menu is displayed */
+    /** Check if the user drop down menu is displayed; it opens within a moment of the click or not at all */
     public boolean isUserDropdownMenuDisplayed() {
-        return userDropdownMenu.isDisplayed();
+        return isVisible("userDropdownMenu", DROPDOWN_SETTLE);
     }
 
     /** Get all visible user drop down menu items' text */
     public List<String> getUserDropdownMenuItemsText() {
-        return userDropdownMenuItems.stream().map(WebElement::getText).toList();
+        return textsOf("userDropdownMenuItems");
     }
 
     /** Get all actual option button texts (About, Support, Change Password, Logout, etc.) */
     public List<String> getUserDropdownOptionButtonTexts() {
-        return userDropdownOptionButtons.stream().map(WebElement::getText).toList();
+        return textsOf("userDropdownOptionButtons");
     }
 
     /** Click "About" option in drop down */
@@ -146,11 +150,6 @@ public class Header extends BasePage {
      * Example: "Logout", "Support", "About", etc.
      */
     public void clickUserDropdownMenuItem(String itemText) {
-        for (WebElement item : userDropdownMenuItems) {
-            if (item.getText().trim().equalsIgnoreCase(itemText.trim())) {
-                item.click();
-                break;
-            }
-        }
+        MenuIndex.click(driver, locatorOf("userDropdownMenuItems"), itemText);
     }
 }
@@ -0,0 +1,250 @@
+package basePage;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import utilities.RunOutput;
+
+/**
+ * Times every driver lookup made for a @FindBy field - through its
+ * PageFactory proxy or a BasePage batch read (textsOf/attributesOf) - keyed
+ * by page-object class and field name, and keeps one DOM snapshot per
+ * page-object class (taken the first time one of its fields resolves). At suite end report()
+ * writes locator-profile/locators.csv under the run output directory, logs the slowest locators, and
+ * benchmarks each XPath locator against a CSS equivalent - where one exists -
+ * on the saved snapshot, in the browser, writing css-alternatives.csv.
+ */
+public final class LocatorProfiler {
+
+    private static final Logger logger = LogManager.getLogger(LocatorProfiler.class);
+    private static final Path OUTPUT = RunOutput.resolve("locator-profile");
+    private static final int REPORTED_SLOWEST = 10;
+    private static final int BENCHMARK_ITERATIONS = 200;
+
+    private static final String BENCHMARK =
+            "var doc = new DOMParser().parseFromString(arguments[0], 'text/html');"
+          + "var n = arguments[2];"
+          + "function xpath(x) { return doc.evaluate(x, doc, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null).snapshotLength; }"
+          + "function css(c) { return doc.querySelectorAll(c).length; }"
+          + "function time(run, arg) {"
+          + "  var count = run(arg), start = performance.now();"
+          + "  for (var i = 0; i < n; i++) { run(arg); }"
+          + "  return [(performance.now() - start) * 1000 / n, count];"
+          + "}"
+          + "return arguments[1].map(function (pair) {"
+          + "  var x = time(xpath, pair[0]), c = pair[1] ? time(css, pair[1]) : [-1, -1];"
+          + "  return [x[0], x[1], c[0], c[1]];"
+          + "});";
+
+    private static final Map<String, Stats> STATS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, String> SNAPSHOTS = new ConcurrentHashMap<>();
+    private static volatile boolean enabled;
+
+    private LocatorProfiler() {
+    }
+
+    public static void setEnabled(boolean enabled) {
+        LocatorProfiler.enabled = enabled;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Record one driver lookup for a field; snapshots the page the first time the class resolves. */
+    static void record(WebDriver driver, Class<?> pageClass, String field, By by, long nanos, boolean found) {
+        if (!enabled) {
+            return;
+        }
+        Stats stats = STATS.computeIfAbsent(pageClass.getSimpleName() + "." + field,
+                key -> new Stats(pageClass, field, by));
+        stats.record(nanos);
+        if (found && !SNAPSHOTS.containsKey(pageClass)) {
+            try {
+                SNAPSHOTS.putIfAbsent(pageClass, driver.getPageSource());
+            } catch (RuntimeException e) {
+                // Snapshot is best effort
+            }
+        }
+    }
+
+    /** Write the locator reports and benchmark CSS alternatives using the given driver. */
+    public static void report(WebDriver driver) throws IOException {
+        if (!enabled || STATS.isEmpty()) {
+            return;
+        }
+        Files.createDirectories(OUTPUT);
+        List<Stats> slowest = new ArrayList<>(STATS.values());
+        slowest.sort(Comparator.comparingDouble(Stats::meanMicros).reversed());
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(OUTPUT.resolve("locators.csv"), StandardCharsets.UTF_8))) {
+            out.println("page,field,locator,lookups,mean_us,max_us");
+            for (Stats stats : slowest) {
+                out.printf("%s,%s,\"%s\",%d,%.0f,%d%n", stats.pageClass.getSimpleName(), stats.field,
+                        stats.by.toString().replace("\"", "\"\""), stats.count.sum(), stats.meanMicros(), stats.maxNanos.get() / 1000);
+            }
+        }
+        logger.info("Slowest locators (mean per driver lookup):");
+        for (Stats stats : slowest.subList(0, Math.min(REPORTED_SLOWEST, slowest.size()))) {
+            logger.info("  {}.{} {}us x{}  {}", stats.pageClass.getSimpleName(), stats.field,
+                    Math.round(stats.meanMicros()), stats.count.sum(), stats.by);
+        }
+        saveSnapshots();
+        if (driver != null) {
+            benchmarkAlternatives(driver);
+        }
+    }
+
+    private static void saveSnapshots() throws IOException {
+        Path dir = Files.createDirectories(OUTPUT.resolve("snapshots"));
+        for (Map.Entry<Class<?>, String> snapshot : SNAPSHOTS.entrySet()) {
+            Files.writeString(dir.resolve(snapshot.getKey().getSimpleName() + ".html"), snapshot.getValue());
+        }
+    }
+
+    private static void benchmarkAlternatives(WebDriver driver) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(OUTPUT.resolve("css-alternatives.csv"), StandardCharsets.UTF_8))) {
+            out.println("page,field,xpath,xpath_us,xpath_matches,css,css_us,css_matches");
+            for (Map.Entry<Class<?>, String> snapshot : SNAPSHOTS.entrySet()) {
+                List<Stats> xpaths = new ArrayList<>();
+                List<List<String>> pairs = new ArrayList<>();
+                for (Stats stats : STATS.values()) {
+                    String xpath = xpathOf(stats.by);
+                    if (stats.pageClass == snapshot.getKey() && xpath != null) {
+                        xpaths.add(stats);
+                        pairs.add(Arrays.asList(xpath, cssFor(xpath)));
+                    }
+                }
+                if (pairs.isEmpty()) {
+                    continue;
+                }
+                List<?> results;
+                try {
+                    results = (List<?>) ((JavascriptExecutor) driver).executeScript(BENCHMARK,
+                            snapshot.getValue(), pairs, BENCHMARK_ITERATIONS);
+                } catch (RuntimeException e) {
+                    logger.warn("Could not benchmark locators of {}: {}", snapshot.getKey().getSimpleName(), e.toString());
+                    continue;
+                }
+                for (int i = 0; i < pairs.size(); i++) {
+                    List<?> result = (List<?>) results.get(i);
+                    double xpathMicros = ((Number) result.get(0)).doubleValue();
+                    double cssMicros = ((Number) result.get(2)).doubleValue();
+                    long xpathMatches = ((Number) result.get(1)).longValue();
+                    long cssMatches = ((Number) result.get(3)).longValue();
+                    String css = pairs.get(i).get(1);
+                    Stats stats = xpaths.get(i);
+                    out.printf("%s,%s,\"%s\",%.1f,%d,\"%s\",%.1f,%d%n", stats.pageClass.getSimpleName(), stats.field,
+                            pairs.get(i).get(0).replace("\"", "\"\""), xpathMicros, xpathMatches,
+                            css == null ? "" : css.replace("\"", "\"\""), cssMicros, cssMatches);
+                    if (css != null && cssMatches == xpathMatches && cssMicros < xpathMicros) {
+                        logger.info("  {}.{}: css \"{}\" matches the same {} element(s) {}x faster than the XPath",
+                                stats.pageClass.getSimpleName(), stats.field, css, cssMatches,
+                                String.format("%.1f", xpathMicros / Math.max(cssMicros, 0.01)));
+                    }
+                }
+            }
+        }
+    }
+
+    private static String xpathOf(By by) {
+        if (by instanceof By.Remotable) {
+            By.Remotable.Parameters parameters = ((By.Remotable) by).getRemoteParameters();
+            if ("xpath".equals(parameters.using())) {
+                return String.valueOf(parameters.value());
+            }
+        }
+        return null;
+    }
+
+    private static final Pattern STEP = Pattern.compile("(//|/)([\\w-]+|\\*)((?:\\[[^\\[\\]]*\\])*)");
+    private static final Pattern PREDICATE = Pattern.compile(
+            "\\s*(?:@([\\w-]+)(?:\\s*=\\s*'([^']*)')?|(contains|starts-with)\\(\\s*@([\\w-]+)\\s*,\\s*'([^']*)'\\s*\\))\\s*");
+
+    /**
+     * A CSS selector equivalent to a simple XPath made of child/descendant steps
+     * with attribute predicates (@a, =, contains, starts-with, joined by "and");
+     * null for anything CSS cannot express, such as text() or ancestor axes.
+     */
+    static String cssFor(String xpath) {
+        StringBuilder css = new StringBuilder();
+        Matcher step = STEP.matcher(xpath.trim());
+        int end = 0;
+        while (step.find()) {
+            if (step.start() != end) {
+                return null;
+            }
+            end = step.end();
+            if (css.length() > 0) {
+                css.append(step.group(1).equals("//") ? " " : " > ");
+            } else if (step.group(1).equals("/")) {
+                return null;
+            }
+            css.append(step.group(2));
+            String predicates = step.group(3);
+            if (!predicates.isEmpty()) {
+                for (String predicate : predicates.substring(1, predicates.length() - 1).split("\\]\\[")) {
+                    for (String term : predicate.split(" and ")) {
+                        Matcher attribute = PREDICATE.matcher(term);
+                        if (!attribute.matches()) {
+                            return null;
+                        }
+                        if (attribute.group(1) != null && attribute.group(2) == null) {
+                            css.append('[').append(attribute.group(1)).append(']');
+                        } else if (attribute.group(1) != null) {
+                            css.append('[').append(attribute.group(1)).append("='").append(attribute.group(2)).append("']");
+                        } else {
+                            String operator = attribute.group(3).equals("contains") ? "*=" : "^=";
+                            css.append('[').append(attribute.group(4)).append(operator).append('\'').append(attribute.group(5)).append("']");
+                        }
+                    }
+                }
+            }
+        }
+        return end == xpath.trim().length() && end > 0 ? css.toString() : null;
+    }
+
+    private static final class Stats {
+        final Class<?> pageClass;
+        final String field;
+        final By by;
+        final LongAdder count = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+
+        Stats(Class<?> pageClass, String field, By by) {
+            this.pageClass = pageClass;
+            this.field = field;
+            this.by = by;
+        }
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        double meanMicros() {
+            long lookups = count.sum();
+            return lookups == 0 ? 0 : totalNanos.sum() / 1000.0 / lookups;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package basePage;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Name to element index of a menu, built with one batched read and reused for
+ * every click by name while the page stays on the URL it was built on. An
+ * in-page route change can re-render a menu without detaching the old
+ * elements, so a different URL rebuilds the index; so do a stale click after
+ * a page load or re-render and an unknown name (e.g. a dropdown that was
+ * closed when the index was built). A click on an indexed item is therefore
+ * two commands: the URL check and the click.
+ */
+public final class MenuIndex {
+
+    private static final Map<WebDriver, Map<String, MenuIndex>> INDEXES =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Map<String, WebElement> items;
+    private final String url;
+
+    private MenuIndex(Map<String, WebElement> items, String url) {
+        this.items = items;
+        this.url = url;
+    }
+
+    /**
+     * Click the first item matching the locator whose visible text equals
+     * name (case-insensitive, trimmed). Does nothing if there is no such item.
+     */
+    public static void click(WebDriver driver, By locator, String name) {
+        String key = key(name);
+        Map<String, MenuIndex> indexes = INDEXES.computeIfAbsent(driver, d -> new ConcurrentHashMap<>());
+        MenuIndex index = indexes.get(locator.toString());
+        String url = driver.getCurrentUrl();
+        WebElement item = index == null || !index.url.equals(url) ? null : index.items.get(key);
+        if (item != null) {
+            try {
+                item.click();
+                return;
+            } catch (StaleElementReferenceException e) {
+                // Page was replaced since the index was built
+            }
+        }
+        index = build(driver, locator, url);
+        if (index.items.isEmpty()) {
+            // Menu not rendered yet; wait for it like the old implicit wait did
+            MenuIndex rendered = new WaitEngine(driver).until(d -> {
+                MenuIndex built = build(d, locator, d.getCurrentUrl());
+                return built.items.isEmpty() ? null : built;
+            });
+            index = rendered == null ? index : rendered;
+        }
+        indexes.put(locator.toString(), index);
+        item = index.items.get(key);
+        if (item != null) {
+            item.click();
+        }
+    }
+
+    /** Forget every index built on a driver, e.g. when its session is reset. */
+    public static void invalidate(WebDriver driver) {
+        INDEXES.remove(driver);
+    }
+
+    private static MenuIndex build(WebDriver driver, By locator, String url) {
+        Map<String, WebElement> items = new HashMap<>();
+        for (Map.Entry<WebElement, String> item : ElementBatch.elementsWithText(driver, locator)) {
+            items.putIfAbsent(key(item.getValue()), item.getKey());
+        }
+        return new MenuIndex(items, url);
+    }
+
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,6 +1,5 @@
 package basePage;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
@@ -21,7 +20,7 @@ public class NavBar extends BasePage {
 
     // Brand logo (could be hidden/shown)
     @FindBy(css = "div.oxd-brand-logo img[alt='client brand logo']")
-    private static WebElement brandLogo;
+    private WebElement brandLogo;
 
     // Brand banner (main banner image)
     @FindBy(css = "div.oxd-brand-banner img[alt='client brand banner']")
@@ -110,9 +109,9 @@ public class NavBar extends BasePage {
         brandLink.click();
     }
 
-    /** Returns true if the sidepanel close button is displayed */
+    /** Returns true if the sidepanel close button is displayed (narrow windows only) */
     public boolean isCloseButtonDisplayed() {
-        return closeSidepanelBtn.isDisplayed();
+        return isVisibleOnceRendered("brandLink", "closeSidepanelBtn");
     }
 
     /** Clicks the sidepanel close (X) button */
@@ -122,19 +121,19 @@ public class NavBar extends BasePage {
 
     /** Returns true if the brand banner is displayed */
     public boolean isBrandBannerDisplayed() {
-        return brandBanner.isDisplayed();
+        return isVisible("brandBanner");
     }
 
     /** Returns true if the brand logo is displayed */
     public boolean isBrandLogoDisplayed() {
-        return brandLogo.isDisplayed();
+        return isVisible("brandLogo");
     }
 
     // ========== Main Menu Actions ==========
 
     /** Get the names of all visible main menu items */
     public List<String> getMainMenuItemNames() {
-        return mainMenuItemNames.stream().map(WebElement::getText).collect(Collectors.toList());
+        return textsOf("mainMenuItemNames");
     }
 
     /**
@@ -142,22 +141,17 @@ public class NavBar extends BasePage {
      * @param menuName The name of the menu item (e.g. "Admin", "Recruitment")
      */
     public void clickMenuItemByName(String menuName) {
-        for (WebElement item : mainMenuItems) {
-            if (item.getText().trim().equalsIgnoreCase(menuName)) {
-                item.click();
-                break;
-            }
-        }
+        MenuIndex.click(driver, locatorOf("mainMenuItems"), menuName);
     }
 
     /** Get hrefs of all main menu items */
     public List<String> getMainMenuItemLinks() {
-        return mainMenuItems.stream().map(item -> item.getAttribute("href")).collect(Collectors.toList());
+        return attributesOf("mainMenuItems", "href");
     }
 
     /** Returns true if the main menu search icon is displayed */
     public boolean isMainMenuSearchIconDisplayed() {
-        return mainMenuSearchIcon.isDisplayed();
+        return isVisible("mainMenuSearchIcon");
     }
 
     // ========== Navigation Link Actions ==========
@@ -175,22 +169,22 @@ public class NavBar extends BasePage {
     public void clickClaim() { claimLink.click(); }
     public void clickBuzz() { buzzLink.click(); }
 
-    // Optionally, for test assertions
-    public boolean isAdminDisplayed() { return adminLink.isDisplayed(); }
-    public boolean isPIMDisplayed() { return pimLink.isDisplayed(); }
-    public boolean isLeaveDisplayed() { return leaveLink.isDisplayed(); }
-    public boolean isTimeDisplayed() { return timeLink.isDisplayed(); }
-    public boolean isRecruitmentDisplayed() { return recruitmentLink.isDisplayed(); }
-    public boolean isMyInfoDisplayed() { return myInfoLink.isDisplayed(); }
-    public boolean isPerformanceDisplayed() { return performanceLink.isDisplayed(); }
-    public boolean isDashboardDisplayed() { return dashboardLink.isDisplayed(); }
-    public boolean isDirectoryDisplayed() { return directoryLink.isDisplayed(); }
-    public boolean isMaintenanceDisplayed() { return maintenanceLink.isDisplayed(); }
-    public boolean isClaimDisplayed() { return claimLink.isDisplayed(); }
-    public boolean isBuzzDisplayed() { return buzzLink.isDisplayed(); }
-
-	public static boolean isSidePanelPresent() {
-		// TODO Auto-generated method stub
-		return brandLogo.isDisplayed();
+    // Optionally, for test assertions. Links depend on the user's role, so an
+    // absent link is reported as soon as the menu has rendered.
+    public boolean isAdminDisplayed() { return isVisibleOnceRendered("mainMenuItems", "adminLink"); }
+    public boolean isPIMDisplayed() { return isVisibleOnceRendered("mainMenuItems", "pimLink"); }
+    public boolean isLeaveDisplayed() { return isVisibleOnceRendered("mainMenuItems", "leaveLink"); }
+    public boolean isTimeDisplayed() { return isVisibleOnceRendered("mainMenuItems", "timeLink"); }
+    public boolean isRecruitmentDisplayed() { return isVisibleOnceRendered("mainMenuItems", "recruitmentLink"); }
+    public boolean isMyInfoDisplayed() { return isVisibleOnceRendered("mainMenuItems", "myInfoLink"); }
+    public boolean isPerformanceDisplayed() { return isVisibleOnceRendered("mainMenuItems", "performanceLink"); }
+    public boolean isDashboardDisplayed() { return isVisibleOnceRendered("mainMenuItems", "dashboardLink"); }
+    public boolean isDirectoryDisplayed() { return isVisibleOnceRendered("mainMenuItems", "directoryLink"); }
+    public boolean isMaintenanceDisplayed() { return isVisibleOnceRendered("mainMenuItems", "maintenanceLink"); }
+    public boolean isClaimDisplayed() { return isVisibleOnceRendered("mainMenuItems", "claimLink"); }
+    public boolean isBuzzDisplayed() { return isVisibleOnceRendered("mainMenuItems", "buzzLink"); }
+
+	public boolean isSidePanelPresent() {
+		return isVisible("brandLogo");
 	}
 }
\ No newline at end of file
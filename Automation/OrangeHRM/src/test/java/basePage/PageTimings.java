@@ -0,0 +1,116 @@
+package basePage;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Navigation, Resource and /api/v2 XHR timings of one page change, read from
+ * the browser's performance timeline.
+ *
+ * mark() is called just before the action that changes the page: it drops
+ * earlier resource entries and sets a "route-start" mark. collect() then
+ * waits in the browser until the page is quiet - loaded, no OrangeHRM loading
+ * spinner, no new resource entries for QUIET_MILLIS - and returns everything
+ * in that one script call. A full page load loses the mark, so the start is
+ * also kept as an epoch time and the route time is measured across the two
+ * documents on the browser's own clock.
+ */
+public final class PageTimings {
+
+    private static final long QUIET_MILLIS = 500;
+
+    private static final String MARK =
+            "performance.setResourceTimingBufferSize(1000);"
+          + "performance.clearResourceTimings();"
+          + "performance.clearMarks('route-start');"
+          + "performance.mark('route-start');"
+          + "return performance.timeOrigin + performance.now();";
+
+    private static final String COLLECT =
+            "var startEpoch = arguments[0], quiet = arguments[1], done = arguments[arguments.length - 1];"
+          + "var seen = -1, quietSince = performance.now(), lastBusy = 0;"
+          + "function busy() {"
+          + "  return document.readyState !== 'complete'"
+          + "      || document.querySelector('.oxd-loading-spinner, .oxd-form-loader') !== null;"
+          + "}"
+          + "(function poll() {"
+          + "  var count = performance.getEntriesByType('resource').length, now = performance.now();"
+          + "  if (busy()) { lastBusy = now; quietSince = now; }"
+          + "  if (count !== seen) { seen = count; quietSince = now; }"
+          + "  if (now - quietSince >= quiet) { done(collect()); } else { setTimeout(poll, 50); }"
+          + "})();"
+          + "function collect() {"
+          + "  var mark = performance.getEntriesByName('route-start', 'mark').pop();"
+          + "  var start = mark ? mark.startTime : startEpoch - performance.timeOrigin;"
+          + "  var resources = performance.getEntriesByType('resource').filter(function (r) { return r.startTime >= start; });"
+          + "  var ready = Math.max(start, lastBusy), bytes = 0, api = [];"
+          + "  var nav = mark ? null : performance.getEntriesByType('navigation')[0];"
+          + "  resources.forEach(function (r) {"
+          + "    ready = Math.max(ready, r.responseEnd);"
+          + "    bytes += r.transferSize || 0;"
+          + "    var path = r.name.replace(/^[a-z]+:\\/\\/[^\\/]+/, '').split('?')[0];"
+          + "    if (path.indexOf('/api/v2/') >= 0) { api.push({ path: path, ms: r.duration }); }"
+          + "  });"
+          + "  var metrics = { route_ms: 0, resources: resources.length, transfer_kb: bytes / 1024,"
+          + "                  api_calls: api.length, api_max_ms: 0 };"
+          + "  api.forEach(function (a) { metrics.api_max_ms = Math.max(metrics.api_max_ms, a.ms); });"
+          + "  if (nav) {"
+          + "    ready = Math.max(ready, nav.loadEventEnd, nav.domComplete);"
+          + "    metrics.ttfb_ms = nav.responseStart;"
+          + "    metrics.dom_content_loaded_ms = nav.domContentLoadedEventEnd;"
+          + "    metrics.load_ms = Math.max(nav.loadEventEnd, nav.domComplete);"
+          + "  }"
+          + "  metrics.route_ms = ready - start;"
+          + "  return { fullLoad: !mark, metrics: metrics, api: api };"
+          + "}";
+
+    private final Map<String, Double> metrics;
+    private final List<Map<String, Object>> apiCalls;
+    private final boolean fullLoad;
+
+    private PageTimings(Map<String, Double> metrics, List<Map<String, Object>> apiCalls, boolean fullLoad) {
+        this.metrics = metrics;
+        this.apiCalls = apiCalls;
+        this.fullLoad = fullLoad;
+    }
+
+    /** Start a measurement; pass the result to collect() after the page change. */
+    public static double mark(WebDriver driver) {
+        return ((Number) ((JavascriptExecutor) driver).executeScript(MARK)).doubleValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    public static PageTimings collect(WebDriver driver, double mark) {
+        Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver)
+                .executeAsyncScript(COLLECT, mark, QUIET_MILLIS);
+        Map<String, Double> metrics = new LinkedHashMap<>();
+        ((Map<String, Object>) result.get("metrics")).forEach((name, value) ->
+                metrics.put(name, ((Number) value).doubleValue()));
+        return new PageTimings(metrics, new ArrayList<>((List<Map<String, Object>>) result.get("api")),
+                Boolean.TRUE.equals(result.get("fullLoad")));
+    }
+
+    /**
+     * route_ms (start to last response), resources, transfer_kb, api_calls,
+     * api_max_ms and, for full page loads, ttfb_ms, dom_content_loaded_ms and
+     * load_ms (relative to the navigation start).
+     */
+    public Map<String, Double> metrics() {
+        return metrics;
+    }
+
+    /** Each /api/v2 request of the change: "path" (without query) and "ms". */
+    public List<Map<String, Object>> apiCalls() {
+        return apiCalls;
+    }
+
+    /** True when the change was a document load rather than an in-page route change. */
+    public boolean isFullLoad() {
+        return fullLoad;
+    }
+}
@@ -0,0 +1,158 @@
+package basePage;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Explicit, per-locator waits that replace the driver-wide implicit wait.
+ * Each condition is polled with findElements (which returns at once when
+ * no implicit wait is set), starting at 25ms between polls and backing off
+ * by half each time up to 500ms, so a condition that already holds - or an
+ * element that is already absent - resolves in a single command.
+ */
+public class WaitEngine {
+
+    private static final long FIRST_POLL_MILLIS = 25;
+    private static final long MAX_POLL_MILLIS = 500;
+
+    private static volatile Duration defaultTimeout = Duration.ofSeconds(10);
+
+    private final WebDriver driver;
+
+    public WaitEngine(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /** Timeout used by the overloads that do not take one. */
+    public static void setDefaultTimeout(Duration timeout) {
+        defaultTimeout = timeout;
+    }
+
+    public static Duration getDefaultTimeout() {
+        return defaultTimeout;
+    }
+
+    /**
+     * Poll a condition until it returns a value other than null or false.
+     * @return that value, or null if the timeout passed first
+     */
+    public <T> T until(Function<WebDriver, T> condition, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        long pause = FIRST_POLL_MILLIS;
+        while (true) {
+            try {
+                T value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    return value;
+                }
+            } catch (StaleElementReferenceException e) {
+                // DOM changed under the condition; poll again
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return null;
+            }
+            sleep(Math.min(pause, Duration.ofNanos(remaining).toMillis() + 1));
+            pause = Math.min(pause + pause / 2, MAX_POLL_MILLIS);
+        }
+    }
+
+    public <T> T until(Function<WebDriver, T> condition) {
+        return until(condition, defaultTimeout);
+    }
+
+    /** True once an element matching the locator is in the DOM. */
+    public boolean present(By locator, Duration timeout) {
+        return until(d -> !d.findElements(locator).isEmpty(), timeout) != null;
+    }
+
+    public boolean present(By locator) {
+        return present(locator, defaultTimeout);
+    }
+
+    /** True once an element matching the locator is displayed. */
+    public boolean visible(By locator, Duration timeout) {
+        return until(d -> isVisibleNow(locator), timeout) != null;
+    }
+
+    public boolean visible(By locator) {
+        return visible(locator, defaultTimeout);
+    }
+
+    /** True once no displayed element matches the locator; immediate if there is none. */
+    public boolean absent(By locator, Duration timeout) {
+        return until(d -> !isVisibleNow(locator), timeout) != null;
+    }
+
+    public boolean absent(By locator) {
+        return absent(locator, defaultTimeout);
+    }
+
+    /** True if an element matching the locator is displayed right now; never waits. */
+    public boolean isVisibleNow(By locator) {
+        for (WebElement element : driver.findElements(locator)) {
+            if (element.isDisplayed()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Index of the first locator with a displayed match, polling all of them
+     * together; -1 if none became visible. Useful for waiting on whichever
+     * outcome of an action shows up first.
+     */
+    public int firstVisible(Duration timeout, By... locators) {
+        Integer index = until(d -> {
+            for (int i = 0; i < locators.length; i++) {
+                if (isVisibleNow(locators[i])) {
+                    return i;
+                }
+            }
+            return null;
+        }, timeout);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Text of the first matching element once it has stopped changing for
+     * stableFor, e.g. a counter or message that renders in steps.
+     * @return the settled text, or null if it never settled within the timeout
+     */
+    public String textStable(By locator, Duration stableFor, Duration timeout) {
+        long stableNanos = stableFor.toNanos();
+        String[] last = {null};
+        long[] since = {0};
+        return until(d -> {
+            List<WebElement> found = d.findElements(locator);
+            String text = found.isEmpty() ? null : found.get(0).getText();
+            long now = System.nanoTime();
+            if (text == null || !text.equals(last[0])) {
+                last[0] = text;
+                since[0] = now;
+                return null;
+            }
+            return now - since[0] >= stableNanos ? text : null;
+        }, timeout);
+    }
+
+    public String textStable(By locator) {
+        return textStable(locator, Duration.ofMillis(300), defaultTimeout);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting", e);
+        }
+    }
+}
@@ -1,57 +1,245 @@
 package baseTest;
 import java.io.FileReader;
 import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.Properties;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.testng.ITestContext;
 import org.testng.annotations.*;
+import org.testng.xml.XmlTest;
+
+import basePage.CachingElementLocatorFactory;
+import basePage.LocatorProfiler;
+import basePage.MenuIndex;
+import basePage.WaitEngine;
+import listeners.CommandTimingListener;
+import utilities.CommandMetrics;
+import utilities.ExcelResultWriter;
+import utilities.ReplayArchive;
+import utilities.ReplayServer;
+import utilities.RunOutput;
 
 
 public class BaseTest {
 
-    public static WebDriver driver;
     public static Logger logger;
-    public Properties p;
+    public static Properties p;
+
+    protected static DriverPool pool;
+    protected static SessionProvider sessions;
+    private static NetworkControl network;
+    private static TrafficRecorder recorder;
+    private static ReplayArchive recording;
+    private static ReplayServer replay;
 
     @BeforeSuite
     @Parameters({"OS", "browser"})
-    public void setUp(String OS, String br) throws IOException {
+    public void setUp(String OS, String br, ITestContext context) throws IOException {
         p = new Properties();
         FileReader file = new FileReader("src/test/resources/config.properties");
         p.load(file);
-        
+        // A suite can pin settings for its run, e.g. testng-perf.xml turns off network blocking
+        context.getSuite().getXmlSuite().getAllParameters().forEach((key, value) -> {
+            if (p.containsKey(key)) {
+                p.setProperty(key, value);
+            }
+        });
+
         logger = LogManager.getLogger(this.getClass());
+        startReplayMode();
+        WaitEngine.setDefaultTimeout(Duration.ofSeconds(Long.parseLong(p.getProperty("WaitTimeoutSeconds", "10"))));
+        LocatorProfiler.setEnabled(Boolean.parseBoolean(p.getProperty("LocatorProfiling", "false")));
+
+        // "chrome:headless" picks a profile for this run over the configured one
+        String[] browserAndProfile = br.toLowerCase().split(":", 2);
+        String browser = browserAndProfile[0];
+        BrowserProfile profile = BrowserProfile.named(browserAndProfile.length > 1
+                ? browserAndProfile[1] : p.getProperty("BrowserProfile", "default"));
+        String[] size = p.getProperty("WindowSize", "1920x1080").split("x");
+        Dimension viewport = new Dimension(Integer.parseInt(size[0].trim()), Integer.parseInt(size[1].trim()));
+        network = NetworkControl.fromConfig(p);
+        int poolSize = Integer.parseInt(p.getProperty("PoolSize", String.valueOf(threadCount(context))));
+        if (recorder != null) {
+            // One browser, so the recording is one sequence rather than sessions interleaved by timing
+            poolSize = 1;
+        }
+        long acquireTimeout = Long.parseLong(p.getProperty("PoolAcquireTimeoutSeconds", "300"));
+        pool = new DriverPool(poolSize, () -> newDriver(browser, profile, viewport), BaseTest::resetSession, acquireTimeout);
+        pool.warmUp();
+        sessions = new SessionProvider(p);
+        logger.info("Driver pool warming up: {} x {} ({} profile)", poolSize, browser, profile);
+    }
+
+    /**
+     * ReplayMode=record captures the application's traffic into ReplayDir,
+     * on a single pooled browser;
+     * ReplayMode=replay serves that recording on localhost and points AppUrl
+     * and AppBaseUrl at it, so the suite runs without the public demo.
+     */
+    private static void startReplayMode() throws IOException {
+        String mode = p.getProperty("ReplayMode", "off").trim().toLowerCase();
+        Path directory = Paths.get(p.getProperty("ReplayDir", "src/test/resources/replay"));
+        if (mode.equals("record")) {
+            URI base = URI.create(p.getProperty("AppBaseUrl"));
+            recording = new ReplayArchive(base.getScheme() + "://" + base.getRawAuthority());
+            recorder = new TrafficRecorder(recording);
+            logger.info("Recording traffic of {} into {}", recording.origin(), directory);
+        } else if (mode.equals("replay")) {
+            ReplayArchive archive = ReplayArchive.load(directory);
+            replay = new ReplayServer(archive);
+            String origin = replay.start(Integer.parseInt(p.getProperty("ReplayPort", "0")));
+            for (String key : new String[] {"AppUrl", "AppBaseUrl"}) {
+                p.setProperty(key, p.getProperty(key).replace(archive.origin(), origin));
+            }
+        } else if (!mode.equals("off")) {
+            throw new IllegalArgumentException("Invalid ReplayMode: " + mode);
+        }
+    }
 
-        switch (br.toLowerCase()) {
+    /** Launch one browser session and open the application on it. */
+    private static WebDriver newDriver(String br, BrowserProfile profile, Dimension viewport) {
+        WebDriver driver;
+        switch (br) {
             case "chrome":
-                driver = new ChromeDriver();
+                driver = new ChromeDriver(profile.chromeOptions(viewport));
                 break;
             case "edge":
-                driver = new EdgeDriver();
+                driver = new EdgeDriver(profile.edgeOptions(viewport));
                 break;
             case "firefox":
-                driver = new FirefoxDriver();
+                driver = new FirefoxDriver(profile.firefoxOptions(viewport));
                 break;
             default:
                 throw new IllegalArgumentException("Invalid browser: " + br);
         }
+        try {
+            if (network != null) {
+                network.attach(driver);
+            }
+            if (recorder != null) {
+                recorder.attach(driver);
+            }
+        } catch (RuntimeException e) {
+            // The pool never sees this driver, so nobody else would quit it
+            driver.quit();
+            throw e;
+        }
+        driver = new EventFiringDecorator<>(new CommandTimingListener()).decorate(driver);
+
+        profile.sizeWindow(driver, viewport);
+        driver.get(p.getProperty("AppUrl"));
+        return driver;
+    }
 
-        driver.manage().window().maximize();
+    /**
+     * Bring a used session back to the state of a fresh launch: one window,
+     * no cookies or web storage, sitting on the application URL.
+     * Any exception means the session is unhealthy and must be replaced.
+     */
+    private static void resetSession(WebDriver driver) {
+        String main = driver.getWindowHandle();
+        for (String handle : driver.getWindowHandles()) {
+            if (!handle.equals(main)) {
+                driver.switchTo().window(handle).close();
+            }
+        }
+        driver.switchTo().window(main);
+        ((JavascriptExecutor) driver).executeScript(
+                "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
         driver.manage().deleteAllCookies();
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
+        MenuIndex.invalidate(driver);
         driver.get(p.getProperty("AppUrl"));
     }
 
+    /** Largest thread-count configured for the suite or any of its tests. */
+    private static int threadCount(ITestContext context) {
+        int threads = context.getSuite().getXmlSuite().getThreadCount();
+        for (XmlTest test : context.getSuite().getXmlSuite().getTests()) {
+            threads = Math.max(threads, test.getThreadCount());
+        }
+        return Math.max(threads, 1);
+    }
 
-    @AfterSuite
-    public void tearDown() {
-        if (driver != null) {
-            driver.quit();
+    /** The browser session owned by the calling test thread. */
+    public static WebDriver getDriver() {
+        return pool.current();
+    }
+
+    /**
+     * This thread's driver, logged in as the role with a shared cached session
+     * and already on the module path (relative to AppBaseUrl).
+     */
+    public static WebDriver startAuthenticated(String role, String path) {
+        WebDriver driver = getDriver();
+        sessions.open(driver, role, path);
+        return driver;
+    }
+
+    /** Like startAuthenticated, but with a session of its own that the test may end. */
+    public static WebDriver startWithOwnSession(String role, String path) {
+        WebDriver driver = getDriver();
+        sessions.openPrivate(driver, role, path);
+        return driver;
+    }
+
+    /** Tags this thread's log events with the test and session, which routes them to logs/tests/<test>.log. */
+    @BeforeMethod(alwaysRun = true)
+    public void acquireDriver(Method method) throws InterruptedException {
+        ThreadContext.put("test", method.getDeclaringClass().getSimpleName() + "." + method.getName());
+        ThreadContext.put("session", sessionId(pool.acquire()));
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void releaseDriver() {
+        pool.release();
+        ThreadContext.clearMap();
+    }
+
+    private static String sessionId(WebDriver driver) {
+        while (driver instanceof WrapsDriver && !(driver instanceof RemoteWebDriver)) {
+            driver = ((WrapsDriver) driver).getWrappedDriver();
+        }
+        return driver instanceof RemoteWebDriver ? String.valueOf(((RemoteWebDriver) driver).getSessionId()) : "-";
+    }
+
+    @AfterSuite(alwaysRun = true)
+    public void tearDown() throws IOException, InterruptedException {
+        if (pool != null) {
+            if (LocatorProfiler.isEnabled()) {
+                try {
+                    // One pooled session runs the in-browser XPath/CSS benchmark
+                    LocatorProfiler.report(pool.acquire());
+                } catch (RuntimeException e) {
+                    logger.warn("Locator profile report failed", e);
+                }
+            }
+            pool.shutdown();
+        }
+        logger.info(CachingElementLocatorFactory.statistics());
+        CommandMetrics.export(RunOutput.resolve("command-latency.json"));
+        NetworkControl.report(RunOutput.resolve("network-report.json"));
+        ExcelResultWriter.flushAll();
+        if (recording != null) {
+            recording.save(Paths.get(p.getProperty("ReplayDir", "src/test/resources/replay")));
+            logger.info("Recorded {} responses", recording.exchanges().size());
+        }
+        if (replay != null) {
+            replay.stop();
         }
     }
 }
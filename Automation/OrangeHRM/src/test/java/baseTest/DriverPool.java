@@ -0,0 +1,196 @@
+package baseTest;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Fixed-size pool of warm WebDriver sessions shared by every test class of a suite.
+ * A session is handed to one test thread on acquire() and stays confined to
+ * that thread until release(). Released sessions are reset in the background
+ * (cookies, storage, back to the start page) and reused instead of quit; a
+ * session whose reset fails is treated as unhealthy, quit and replaced.
+ */
+public class DriverPool {
+
+    private static final Logger logger = LogManager.getLogger(DriverPool.class);
+
+    private final int size;
+    private final Supplier<WebDriver> factory;
+    private final Consumer<WebDriver> reset;
+    private final long acquireTimeoutSeconds;
+    private final BlockingQueue<WebDriver> idle = new LinkedBlockingQueue<>();
+    private final List<WebDriver> sessions = new CopyOnWriteArrayList<>();
+    private final AtomicInteger launched = new AtomicInteger();
+    private final ThreadLocal<WebDriver> current = new ThreadLocal<>();
+    private final ExecutorService maintenance = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "driver-pool-maintenance");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean closed;
+
+    /**
+     * @param size                  maximum number of live browser sessions
+     * @param factory               launches a session already sitting on the start page
+     * @param reset                 returns a used session to a clean start page; throwing marks it unhealthy
+     * @param acquireTimeoutSeconds how long acquire() waits for a free session
+     */
+    public DriverPool(int size, Supplier<WebDriver> factory, Consumer<WebDriver> reset, long acquireTimeoutSeconds) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1: " + size);
+        }
+        this.size = size;
+        this.factory = factory;
+        this.reset = reset;
+        this.acquireTimeoutSeconds = acquireTimeoutSeconds;
+    }
+
+    /** Launch sessions in the background until the pool is full. */
+    public void warmUp() {
+        while (reserveSlot()) {
+            maintenance.execute(this::launchIdle);
+        }
+    }
+
+    /**
+     * Hand a session to the calling thread. A warm idle session is preferred;
+     * otherwise a new browser is launched if the pool has room, or the caller
+     * waits for a session to come back from reset.
+     */
+    public WebDriver acquire() throws InterruptedException {
+        WebDriver driver = current.get();
+        if (driver != null) {
+            return driver;
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(acquireTimeoutSeconds);
+        while (driver == null) {
+            driver = idle.poll();
+            if (driver == null && reserveSlot()) {
+                driver = launch();
+            }
+            if (driver == null) {
+                driver = idle.poll(250, TimeUnit.MILLISECONDS);
+            }
+            if (driver == null && System.nanoTime() > deadline) {
+                throw new IllegalStateException("No browser session became free within "
+                        + acquireTimeoutSeconds + "s (pool size " + size + ")");
+            }
+        }
+        current.set(driver);
+        return driver;
+    }
+
+    /** The session held by the calling thread, or null if it holds none. */
+    public WebDriver current() {
+        return current.get();
+    }
+
+    /** Return the calling thread's session; it is reset in the background before reuse. */
+    public void release() {
+        WebDriver driver = current.get();
+        if (driver != null) {
+            current.remove();
+            maintenance.execute(() -> recycle(driver));
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Wait for pending resets, then quit every session the pool has launched. */
+    public void shutdown() {
+        closed = true;
+        maintenance.shutdown();
+        try {
+            maintenance.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (WebDriver driver : sessions) {
+            quitQuietly(driver);
+        }
+        sessions.clear();
+        idle.clear();
+    }
+
+    private void recycle(WebDriver driver) {
+        if (closed) {
+            return;
+        }
+        try {
+            reset.accept(driver);
+            idle.offer(driver);
+        } catch (RuntimeException e) {
+            logger.warn("Browser session failed its health check, replacing it: {}", e.toString());
+            discard(driver);
+            if (reserveSlot()) {
+                launchIdle();
+            }
+        }
+    }
+
+    private void launchIdle() {
+        try {
+            idle.offer(launch());
+        } catch (RuntimeException e) {
+            if (!closed) {
+                logger.error("Could not launch a browser session", e);
+            }
+        }
+    }
+
+    /** Launch a session for a slot that has already been reserved. */
+    private WebDriver launch() {
+        WebDriver driver;
+        try {
+            driver = factory.get();
+        } catch (RuntimeException e) {
+            launched.decrementAndGet();
+            throw e;
+        }
+        sessions.add(driver);
+        if (closed) {
+            discard(driver);
+            throw new IllegalStateException("Driver pool is shut down");
+        }
+        return driver;
+    }
+
+    private boolean reserveSlot() {
+        int count;
+        do {
+            count = launched.get();
+            if (count >= size || closed) {
+                return false;
+            }
+        } while (!launched.compareAndSet(count, count + 1));
+        return true;
+    }
+
+    private void discard(WebDriver driver) {
+        sessions.remove(driver);
+        launched.decrementAndGet();
+        quitQuietly(driver);
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (RuntimeException e) {
+            // Browser already gone; nothing left to release
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package baseTest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.json.Json;
+
+/**
+ * Stops requests no test asserts on - images, fonts, media, analytics - from
+ * reaching the network, through the DevTools Fetch domain on Chromium
+ * drivers (Chrome, Edge). Firefox sessions are left alone: its DevTools
+ * support does not speak the Fetch domain.
+ *
+ * Only requests matching NetworkBlockTypes (CDP resource types, e.g.
+ * Image,Font,Media) or NetworkBlockUrls (globs with * and ?) are paused, so
+ * document, script and XHR traffic to the app's API never waits on the
+ * test process. A paused request is failed with BlockedByClient unless it
+ * matches NetworkAllowUrls. Counts of blocked requests per resource type and
+ * host, and bytes transferred by the requests that did load, are written by
+ * report() at suite end.
+ */
+public final class NetworkControl {
+
+    private static final Logger logger = LogManager.getLogger(NetworkControl.class);
+
+    private static final Event<Map<String, Object>> REQUEST_PAUSED =
+            new Event<>("Fetch.requestPaused", input -> input.read(Json.MAP_TYPE));
+    private static final Event<Map<String, Object>> LOADING_FINISHED =
+            new Event<>("Network.loadingFinished", input -> input.read(Json.MAP_TYPE));
+
+    private static final Map<String, LongAdder> BLOCKED_BY_TYPE = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> BLOCKED_BY_HOST = new ConcurrentHashMap<>();
+    private static final LongAdder ALLOWED = new LongAdder();
+    private static final LongAdder LOADED_REQUESTS = new LongAdder();
+    private static final LongAdder LOADED_BYTES = new LongAdder();
+
+    private final List<String> blockTypes;
+    private final List<String> blockUrls;
+    private final List<Pattern> allowUrls;
+
+    private NetworkControl(List<String> blockTypes, List<String> blockUrls, List<String> allowUrls) {
+        this.blockTypes = blockTypes;
+        this.blockUrls = blockUrls;
+        this.allowUrls = allowUrls.stream().map(NetworkControl::glob).collect(Collectors.toList());
+    }
+
+    /** The rules from NetworkBlock* settings, or null when NetworkBlocking is off. */
+    public static NetworkControl fromConfig(Properties config) {
+        if (!Boolean.parseBoolean(config.getProperty("NetworkBlocking", "false"))) {
+            return null;
+        }
+        return new NetworkControl(list(config, "NetworkBlockTypes"), list(config, "NetworkBlockUrls"),
+                list(config, "NetworkAllowUrls"));
+    }
+
+    /** Start blocking on a newly launched, undecorated driver. */
+    public void attach(WebDriver driver) {
+        if (!(driver instanceof ChromiumDriver)) {
+            logger.info("{} is not Chromium; network blocking skipped", driver.getClass().getSimpleName());
+            return;
+        }
+        DevTools devTools = ((ChromiumDriver) driver).getDevTools();
+        devTools.createSessionIfThereIsNotOne();
+
+        List<Map<String, Object>> patterns = new ArrayList<>();
+        for (String type : blockTypes) {
+            patterns.add(Map.of("urlPattern", "*", "resourceType", type, "requestStage", "Request"));
+        }
+        for (String url : blockUrls) {
+            patterns.add(Map.of("urlPattern", url, "requestStage", "Request"));
+        }
+        devTools.addListener(REQUEST_PAUSED, paused -> decide(devTools, paused));
+        devTools.addListener(LOADING_FINISHED, finished -> {
+            LOADED_REQUESTS.increment();
+            LOADED_BYTES.add(((Number) finished.getOrDefault("encodedDataLength", 0)).longValue());
+        });
+        devTools.send(new Command<>("Network.enable", Map.of()));
+        devTools.send(new Command<>("Fetch.enable", Map.of("patterns", patterns)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void decide(DevTools devTools, Map<String, Object> paused) {
+        String requestId = (String) paused.get("requestId");
+        String url = String.valueOf(((Map<String, Object>) paused.get("request")).get("url"));
+        try {
+            if (allowUrls.stream().anyMatch(p -> p.matcher(url).matches())) {
+                ALLOWED.increment();
+                devTools.send(new Command<>("Fetch.continueRequest", Map.of("requestId", requestId)));
+                return;
+            }
+            BLOCKED_BY_TYPE.computeIfAbsent(String.valueOf(paused.get("resourceType")), k -> new LongAdder()).increment();
+            BLOCKED_BY_HOST.computeIfAbsent(host(url), k -> new LongAdder()).increment();
+            devTools.send(new Command<>("Fetch.failRequest", Map.of("requestId", requestId, "errorReason", "BlockedByClient")));
+        } catch (RuntimeException e) {
+            // The page (or session) went away while the request was paused
+            logger.debug("Could not resolve paused request {}: {}", url, e.toString());
+        }
+    }
+
+    /**
+     * Write blocked requests per resource type and host, and what the
+     * requests that did load transferred, as JSON. Bytes a blocked request
+     * would have cost are not known: it is stopped before any response.
+     */
+    public static void report(Path file) throws IOException {
+        long blocked = BLOCKED_BY_TYPE.values().stream().mapToLong(LongAdder::sum).sum();
+        if (blocked == 0 && LOADED_REQUESTS.sum() == 0) {
+            return;
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("blocked_requests", blocked);
+        report.put("blocked_by_type", counts(BLOCKED_BY_TYPE));
+        report.put("blocked_by_host", counts(BLOCKED_BY_HOST));
+        report.put("allowed_by_allow_list", ALLOWED.sum());
+        report.put("loaded_requests", LOADED_REQUESTS.sum());
+        report.put("loaded_bytes", LOADED_BYTES.sum());
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.writeString(file, new Json().toJson(report));
+        logger.info("Network blocking: {} requests blocked {}; {} requests loaded {} KB",
+                blocked, counts(BLOCKED_BY_TYPE), LOADED_REQUESTS.sum(), LOADED_BYTES.sum() / 1024);
+    }
+
+    private static Map<String, Long> counts(Map<String, LongAdder> counters) {
+        Map<String, Long> counts = new TreeMap<>();
+        counters.forEach((key, count) -> counts.put(key, count.sum()));
+        return counts;
+    }
+
+    private static String host(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host == null ? "(none)" : host;
+        } catch (IllegalArgumentException e) {
+            return "(invalid)";
+        }
+    }
+
+    private static List<String> list(Properties config, String key) {
+        return Arrays.stream(config.getProperty(key, "").split(","))
+                .map(String::trim).filter(s -> !s.isEmpty()).collect(Collectors.toList());
+    }
+
+    /** Same glob syntax as Fetch.enable url patterns: * any run of characters, ? one character. */
+    private static Pattern glob(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (char c : glob.toCharArray()) {
+            regex.append(c == '*' ? ".*" : c == '?' ? "." : Pattern.quote(String.valueOf(c)));
+        }
+        return Pattern.compile(regex.toString());
+    }
+}
@@ -0,0 +1,139 @@
+package baseTest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+
+import basePage.WaitEngine;
+import pageObjects.LoginPage;
+import utilities.ReplayServer;
+
+/**
+ * Logs in once per role through the login form and hands the resulting
+ * session cookies to any pooled driver, so authenticated tests open their
+ * module directly instead of driving the form each time.
+ *
+ * Roles are configured as Role.<role>.username / Role.<role>.password.
+ * Cached cookies are replaced by a fresh login once they are within a minute
+ * of SessionTtlMinutes (or of a cookie's own expiry), or as soon as the
+ * application bounces an injected session back to the login page.
+ */
+public class SessionProvider {
+
+    private static final Logger logger = LogManager.getLogger(SessionProvider.class);
+    private static final Duration REFRESH_AHEAD = Duration.ofMinutes(1);
+    private static final String LOGIN_PATH = "/auth/login";
+
+    private final Properties config;
+    private final String baseUrl;
+    private final Duration ttl;
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+    public SessionProvider(Properties config) {
+        this.config = config;
+        this.baseUrl = config.getProperty("AppBaseUrl");
+        this.ttl = Duration.ofMinutes(Long.parseLong(config.getProperty("SessionTtlMinutes", "20")));
+    }
+
+    /**
+     * Put the driver in a logged-in session for the role, shared with other
+     * tests of that role, and open the path (e.g. "/pim/viewEmployeeList").
+     * Tests that end the session, such as logout, should use openPrivate.
+     */
+    public void open(WebDriver driver, String role, String path) {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            Session session = sessionFor(driver, role);
+            inject(driver, session.cookies);
+            driver.get(baseUrl + path);
+            if (!driver.getCurrentUrl().contains(LOGIN_PATH)) {
+                return;
+            }
+            logger.info("Cached session for role {} was rejected; logging in again", role);
+            sessions.remove(role, session);
+        }
+        throw new IllegalStateException("Could not start an authenticated session for role " + role);
+    }
+
+    /** Log the driver in through the form with a session of its own, then open the path. */
+    public void openPrivate(WebDriver driver, String role, String path) {
+        login(driver, role);
+        driver.get(baseUrl + path);
+    }
+
+    private Session sessionFor(WebDriver driver, String role) {
+        Session session = sessions.get(role);
+        if (session != null && session.isFresh()) {
+            return session;
+        }
+        synchronized (locks.computeIfAbsent(role, key -> new Object())) {
+            session = sessions.get(role);
+            if (session == null || !session.isFresh()) {
+                session = new Session(login(driver, role), ttl);
+                sessions.put(role, session);
+            }
+            return session;
+        }
+    }
+
+    private Set<Cookie> login(WebDriver driver, String role) {
+        String username = config.getProperty("Role." + role + ".username");
+        String password = config.getProperty("Role." + role + ".password");
+        if (username == null || password == null) {
+            throw new IllegalArgumentException("No credentials configured for role " + role);
+        }
+        driver.manage().deleteAllCookies();
+        driver.get(baseUrl + LOGIN_PATH);
+        new LoginPage(driver).login(username, password);
+        if (new WaitEngine(driver).until(d -> !d.getCurrentUrl().contains(LOGIN_PATH)) == null) {
+            throw new IllegalStateException("Login as role " + role + " did not leave the login page");
+        }
+        logger.info("Logged in as role {}", role);
+        // The replay server's session cookie identifies this browser, not the login
+        return driver.manage().getCookies().stream()
+                .filter(cookie -> !cookie.getName().equals(ReplayServer.SESSION_COOKIE))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private void inject(WebDriver driver, Set<Cookie> cookies) {
+        // Cookies can only be set for the page's own domain
+        if (!driver.getCurrentUrl().startsWith(baseUrl)) {
+            driver.get(baseUrl + LOGIN_PATH);
+        }
+        driver.manage().deleteAllCookies();
+        for (Cookie cookie : cookies) {
+            driver.manage().addCookie(cookie);
+        }
+    }
+
+    private static final class Session {
+        final Set<Cookie> cookies;
+        final Instant refreshAt;
+
+        Session(Set<Cookie> cookies, Duration ttl) {
+            this.cookies = cookies;
+            Instant expiry = Instant.now().plus(ttl);
+            for (Cookie cookie : cookies) {
+                Date cookieExpiry = cookie.getExpiry();
+                if (cookieExpiry != null && cookieExpiry.toInstant().isBefore(expiry)) {
+                    expiry = cookieExpiry.toInstant();
+                }
+            }
+            this.refreshAt = expiry.minus(REFRESH_AHEAD);
+        }
+
+        boolean isFresh() {
+            return Instant.now().isBefore(refreshAt);
+        }
+    }
+}
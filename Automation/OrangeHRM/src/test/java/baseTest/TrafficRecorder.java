@@ -0,0 +1,171 @@
+package baseTest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.json.Json;
+
+import utilities.ReplayArchive;
+
+/**
+ * Records the application's HTTP traffic - documents, script bundles, API
+ * JSON - into a ReplayArchive while the suite runs against the real site,
+ * through the DevTools Network domain on Chromium drivers.
+ *
+ * Only requests to the archive's origin are kept. Redirect hops are recorded
+ * as their own responses so the login POST and its 302 replay as they
+ * happened. Of the response headers only content-type, location and
+ * set-cookie are kept; everything else either describes the original
+ * transfer (length, encoding, caching) or does not matter to the pages.
+ *
+ * Exchanges are kept in the order they arrive, with no record of the browser
+ * that made them, so a recording must come from one browser: BaseTest runs
+ * record mode on a pool of one.
+ */
+public final class TrafficRecorder {
+
+    private static final Logger logger = LogManager.getLogger(TrafficRecorder.class);
+
+    private static final Event<Map<String, Object>> REQUEST_WILL_BE_SENT =
+            new Event<>("Network.requestWillBeSent", input -> input.read(Json.MAP_TYPE));
+    private static final Event<Map<String, Object>> RESPONSE_RECEIVED =
+            new Event<>("Network.responseReceived", input -> input.read(Json.MAP_TYPE));
+    private static final Event<Map<String, Object>> RESPONSE_EXTRA_INFO =
+            new Event<>("Network.responseReceivedExtraInfo", input -> input.read(Json.MAP_TYPE));
+    private static final Event<Map<String, Object>> LOADING_FINISHED =
+            new Event<>("Network.loadingFinished", input -> input.read(Json.MAP_TYPE));
+
+    private final ReplayArchive archive;
+
+    public TrafficRecorder(ReplayArchive archive) {
+        this.archive = archive;
+    }
+
+    /**
+     * Start recording on a newly launched, undecorated driver. Only Chromium
+     * drivers can record; any other browser would leave a silently empty
+     * recording, so it is refused.
+     */
+    public void attach(WebDriver driver) {
+        if (!(driver instanceof ChromiumDriver)) {
+            throw new IllegalArgumentException("ReplayMode=record needs chrome or edge, not "
+                    + driver.getClass().getSimpleName());
+        }
+        DevTools devTools = ((ChromiumDriver) driver).getDevTools();
+        devTools.createSessionIfThereIsNotOne();
+
+        // Per CDP requestId; a redirect reuses the id for the next hop
+        Map<String, Pending> pending = new ConcurrentHashMap<>();
+        Map<String, String> setCookies = new ConcurrentHashMap<>();
+
+        devTools.addListener(REQUEST_WILL_BE_SENT, event -> {
+            String requestId = (String) event.get("requestId");
+            Map<String, Object> request = map(event.get("request"));
+            Pending previous = pending.remove(requestId);
+            if (previous != null && event.get("redirectResponse") != null) {
+                Map<String, Object> redirect = map(event.get("redirectResponse"));
+                previous.respond(((Number) redirect.get("status")).intValue(), map(redirect.get("headers")),
+                        setCookies.remove(requestId));
+                add(previous, new byte[0]);
+            }
+            String path = archive.pathAndQuery(String.valueOf(request.get("url")));
+            if (path != null) {
+                pending.put(requestId, new Pending((String) request.get("method"), path,
+                        ReplayArchive.requestKey((String) request.get("postData"))));
+            }
+        });
+        devTools.addListener(RESPONSE_EXTRA_INFO, event -> {
+            Object cookies = map(event.get("headers")).entrySet().stream()
+                    .filter(header -> header.getKey().equalsIgnoreCase("set-cookie"))
+                    .map(Map.Entry::getValue).findFirst().orElse(null);
+            if (cookies != null) {
+                setCookies.put((String) event.get("requestId"), String.valueOf(cookies));
+            }
+        });
+        devTools.addListener(RESPONSE_RECEIVED, event -> {
+            Pending request = pending.get((String) event.get("requestId"));
+            if (request != null) {
+                Map<String, Object> response = map(event.get("response"));
+                request.respond(((Number) response.get("status")).intValue(), map(response.get("headers")), null);
+            }
+        });
+        devTools.addListener(LOADING_FINISHED, event -> {
+            String requestId = (String) event.get("requestId");
+            Pending request = pending.remove(requestId);
+            if (request == null || request.status == 0) {
+                return;
+            }
+            String cookies = setCookies.remove(requestId);
+            if (cookies != null) {
+                request.headers.put("set-cookie", List.of(cookies.split("\n")));
+            }
+            add(request, body(devTools, requestId));
+        });
+        devTools.send(new Command<>("Network.enable", Map.of()));
+    }
+
+    private void add(Pending request, byte[] body) {
+        archive.add(new ReplayArchive.Exchange(request.method, request.pathAndQuery, request.requestKey,
+                request.status, request.headers, body));
+    }
+
+    private static byte[] body(DevTools devTools, String requestId) {
+        try {
+            Map<String, Object> result = devTools.send(new Command<>("Network.getResponseBody",
+                    Map.of("requestId", requestId), input -> input.read(Json.MAP_TYPE)));
+            String body = String.valueOf(result.get("body"));
+            return Boolean.TRUE.equals(result.get("base64Encoded"))
+                    ? Base64.getDecoder().decode(body)
+                    : body.getBytes(StandardCharsets.UTF_8);
+        } catch (RuntimeException e) {
+            // Evicted from the browser's buffer, or a response without a body
+            logger.debug("No body for request {}: {}", requestId, e.toString());
+            return new byte[0];
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> map(Object value) {
+        return value instanceof Map ? (Map<String, Object>) value : Map.of();
+    }
+
+    private static final class Pending {
+        final String method;
+        final String pathAndQuery;
+        final String requestKey;
+        final Map<String, List<String>> headers = new LinkedHashMap<>();
+        volatile int status;
+
+        Pending(String method, String pathAndQuery, String requestKey) {
+            this.method = method;
+            this.pathAndQuery = pathAndQuery;
+            this.requestKey = requestKey;
+        }
+
+        void respond(int status, Map<String, Object> responseHeaders, String setCookie) {
+            this.status = status;
+            responseHeaders.forEach((name, value) -> {
+                String header = name.toLowerCase();
+                if (header.equals("content-type") || header.equals("location")) {
+                    headers.put(header, List.of(String.valueOf(value)));
+                } else if (header.equals("set-cookie") && setCookie == null) {
+                    headers.put(header, List.of(String.valueOf(value).split("\n")));
+                }
+            });
+            if (setCookie != null) {
+                headers.put("set-cookie", List.of(setCookie.split("\n")));
+            }
+        }
+    }
+}
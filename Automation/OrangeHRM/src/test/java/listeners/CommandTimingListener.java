@@ -0,0 +1,71 @@
+package listeners;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+import java.util.Set;
+
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import basePage.BasePage;
+import utilities.CommandMetrics;
+
+/**
+ * Times every command sent through a driver decorated with
+ * EventFiringDecorator and records it in CommandMetrics under the command
+ * name and the page-object method that issued it (the innermost BasePage
+ * subclass frame on the stack, else the test method, else "other").
+ * Calls that never leave the JVM, such as manage() or switchTo(), are skipped.
+ */
+public class CommandTimingListener implements WebDriverListener {
+
+    private static final Set<String> LOCAL_CALLS = Set.of("manage", "window", "switchTo", "navigate", "timeouts",
+            "getWrappedDriver", "getWrappedElement", "toString", "hashCode", "equals");
+
+    private static final StackWalker WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private final ThreadLocal<Deque<Long>> started = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (!LOCAL_CALLS.contains(method.getName())) {
+            started.get().push(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(method);
+    }
+
+    private void finish(Method method) {
+        if (LOCAL_CALLS.contains(method.getName())) {
+            return;
+        }
+        Long start = started.get().poll();
+        if (start != null) {
+            CommandMetrics.record(method.getName(), caller(), System.nanoTime() - start);
+        }
+    }
+
+    private static String caller() {
+        Optional<String> caller = WALKER.walk(frames -> frames
+                .filter(f -> BasePage.class.isAssignableFrom(f.getDeclaringClass()) && f.getDeclaringClass() != BasePage.class
+                        || f.getClassName().startsWith("testCases."))
+                .findFirst()
+                .map(f -> f.getDeclaringClass().getSimpleName() + "." + methodName(f.getMethodName())));
+        return caller.orElse("other");
+    }
+
+    /** "lambda$textsOf$0" belongs to textsOf. */
+    private static String methodName(String name) {
+        return name.startsWith("lambda$") ? name.substring(7, name.indexOf('$', 7)) : name;
+    }
+}
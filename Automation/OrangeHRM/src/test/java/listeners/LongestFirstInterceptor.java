@@ -0,0 +1,164 @@
+package listeners;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import utilities.ShardPlanner;
+
+/**
+ * Runs the longest tests first so no long test starts last on an otherwise
+ * idle thread pool. Durations come from target/test-history/durations.properties,
+ * which this listener updates after every run (a moving average per method of
+ * the time all its invocations took), falling back to past testng-results.xml
+ * files and then to the median.
+ *
+ * A method's rank is the length of the longest dependency chain it starts, so
+ * a short method that others depend on goes ahead of them; TestNG still
+ * enforces the dependencies themselves. This replaces static @Test
+ * priorities, which would take precedence over the returned order: every
+ * test starts from a reset or its own session, so none needs to run first.
+ */
+public class LongestFirstInterceptor implements IMethodInterceptor, ITestListener, ISuiteListener {
+
+    private static final Logger logger = LogManager.getLogger(LongestFirstInterceptor.class);
+    private static final Path HISTORY = Paths.get("target", "test-history", "durations.properties");
+    private static final double WEIGHT_OF_LATEST = 0.5;
+
+    private final Map<String, Long> recorded = new ConcurrentHashMap<>();
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        Map<String, Long> history = history();
+        List<Long> known = history.values().stream().sorted().collect(Collectors.toList());
+        long unknown = known.isEmpty() ? 0 : known.get(known.size() / 2);
+
+        Map<String, ITestNGMethod> byName = new HashMap<>();
+        for (IMethodInstance instance : methods) {
+            byName.put(instance.getMethod().getQualifiedName(), instance.getMethod());
+        }
+        Map<ITestNGMethod, List<ITestNGMethod>> dependents = new HashMap<>();
+        for (IMethodInstance instance : methods) {
+            for (String upstream : instance.getMethod().getMethodsDependedUpon()) {
+                ITestNGMethod method = byName.get(upstream);
+                if (method != null) {
+                    dependents.computeIfAbsent(method, m -> new ArrayList<>()).add(instance.getMethod());
+                }
+            }
+        }
+        Map<ITestNGMethod, Long> chain = new HashMap<>();
+        for (IMethodInstance instance : methods) {
+            chainLength(instance.getMethod(), history, unknown, dependents, chain);
+        }
+
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        ordered.sort(Comparator.comparingLong((IMethodInstance m) -> chain.get(m.getMethod())).reversed());
+        logger.info("Longest-first order: {}", ordered.stream().map(m -> m.getMethod().getMethodName()
+                + "(" + chain.get(m.getMethod()) + "ms)").collect(Collectors.joining(", ")));
+        return ordered;
+    }
+
+    private static long chainLength(ITestNGMethod method, Map<String, Long> history, long unknown,
+            Map<ITestNGMethod, List<ITestNGMethod>> dependents, Map<ITestNGMethod, Long> chain) {
+        Long known = chain.get(method);
+        if (known != null) {
+            return known;
+        }
+        chain.put(method, 0L); // guards against dependency cycles, which TestNG rejects anyway
+        long longestAfter = 0;
+        for (ITestNGMethod dependent : dependents.getOrDefault(method, List.of())) {
+            longestAfter = Math.max(longestAfter, chainLength(dependent, history, unknown, dependents, chain));
+        }
+        long length = history.getOrDefault(key(method), unknown) + longestAfter;
+        chain.put(method, length);
+        return length;
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result);
+    }
+
+    /** Adds up every invocation of a method, e.g. each DataProvider row, over the run. */
+    private void record(ITestResult result) {
+        recorded.merge(key(result.getMethod()), result.getEndMillis() - result.getStartMillis(), Long::sum);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (recorded.isEmpty()) {
+            return;
+        }
+        Properties durations = load();
+        recorded.forEach((method, millis) -> {
+            String previous = durations.getProperty(method);
+            long average = previous == null ? millis
+                    : Math.round(WEIGHT_OF_LATEST * millis + (1 - WEIGHT_OF_LATEST) * Long.parseLong(previous));
+            durations.setProperty(method, String.valueOf(average));
+        });
+        recorded.clear();
+        try {
+            Files.createDirectories(HISTORY.getParent());
+            try (Writer out = Files.newBufferedWriter(HISTORY)) {
+                durations.store(out, "Test durations in ms, maintained by listeners.LongestFirstInterceptor");
+            }
+        } catch (IOException e) {
+            logger.warn("Could not save test durations to {}", HISTORY, e);
+        }
+    }
+
+    private static Map<String, Long> history() {
+        Map<String, Long> history = new HashMap<>();
+        try {
+            history.putAll(ShardPlanner.historicalDurations());
+        } catch (Exception e) {
+            logger.warn("Could not read past testng-results.xml: {}", e.toString());
+        }
+        load().forEach((method, millis) -> history.put((String) method, Long.parseLong((String) millis)));
+        return history;
+    }
+
+    private static Properties load() {
+        Properties durations = new Properties();
+        if (Files.isRegularFile(HISTORY)) {
+            try (Reader in = Files.newBufferedReader(HISTORY)) {
+                durations.load(in);
+            } catch (IOException e) {
+                logger.warn("Could not read test durations from {}", HISTORY, e);
+            }
+        }
+        return durations;
+    }
+
+    /** Same "class#method" keys as ShardPlanner. */
+    private static String key(ITestNGMethod method) {
+        return method.getRealClass().getName() + "#" + method.getMethodName();
+    }
+}
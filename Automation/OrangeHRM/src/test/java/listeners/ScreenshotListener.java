@@ -0,0 +1,146 @@
+package listeners;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+
+import baseTest.BaseTest;
+import utilities.RunOutput;
+
+/**
+ * Saves a screenshot of the failing test's browser to screenshots/ in the
+ * run output directory (target by default).
+ *
+ * The test thread only makes the screenshot call, taking the base64 text the
+ * driver already returns; decoding, hashing and writing happen on one
+ * background thread. Its queue is bounded: when it is full the capture is
+ * skipped rather than holding up the test thread (and its pooled session).
+ * A capture identical to the one written before it - the same error page
+ * failing several tests - is not written again; the log points at the
+ * earlier file. Pending writes are finished when a suite ends; the writer
+ * stays up for the next suite that shares this listener.
+ */
+public class ScreenshotListener implements IInvokedMethodListener, ISuiteListener {
+
+    private static final Logger logger = LogManager.getLogger(ScreenshotListener.class);
+    private static final Path DIRECTORY = RunOutput.resolve("screenshots");
+    private static final int QUEUE_SIZE = 8;
+    private static final long DRAIN_MILLIS = 30_000;
+
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final ThreadPoolExecutor writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(QUEUE_SIZE), runnable -> {
+                Thread thread = new Thread(runnable, "screenshot-writer");
+                thread.setDaemon(true);
+                return thread;
+            }, (runnable, executor) -> {
+                pending.decrementAndGet();
+                skipped.incrementAndGet();
+            });
+
+    // Only touched by the writer thread
+    private String lastHash;
+    private Path lastFile;
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        if (!method.isTestMethod() || result.getStatus() != ITestResult.FAILURE) {
+            return;
+        }
+        if (writer.getQueue().remainingCapacity() == 0) {
+            skipped.incrementAndGet();
+            logger.warn("Screenshot writer is behind; no screenshot for {}", result.getName());
+            return;
+        }
+        String base64;
+        try {
+            WebDriver driver = BaseTest.getDriver();
+            if (!(driver instanceof TakesScreenshot)) {
+                return;
+            }
+            base64 = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
+        } catch (RuntimeException e) {
+            // No session, or the browser is gone - the failure itself is what matters
+            logger.warn("No screenshot for {}: {}", result.getName(), e.toString());
+            return;
+        }
+        String name = result.getTestClass().getRealClass().getSimpleName() + "." + result.getName()
+                + "_" + System.currentTimeMillis() + ".png";
+        pending.incrementAndGet();
+        writer.execute(() -> {
+            try {
+                write(name, base64);
+            } finally {
+                pending.decrementAndGet();
+            }
+        });
+    }
+
+    private void write(String name, String base64) {
+        byte[] png = Base64.getMimeDecoder().decode(base64);
+        String hash = sha1(png);
+        if (hash.equals(lastHash)) {
+            logger.info("Screenshot for {} is identical to {}", name, lastFile);
+            return;
+        }
+        try {
+            Files.createDirectories(DIRECTORY);
+            Path file = Files.write(DIRECTORY.resolve(name), png);
+            lastHash = hash;
+            lastFile = file;
+            logger.info("Screenshot saved: {}", file);
+        } catch (IOException e) {
+            logger.warn("Could not save screenshot {}", name, e);
+        }
+    }
+
+    /** Waits for the pending writes; the daemon writer thread itself is left running. */
+    @Override
+    public void onFinish(ISuite suite) {
+        long deadline = System.currentTimeMillis() + DRAIN_MILLIS;
+        try {
+            while (pending.get() > 0) {
+                if (System.currentTimeMillis() > deadline) {
+                    logger.warn("Screenshot writer did not finish; {} screenshots still pending", pending.get());
+                    break;
+                }
+                Thread.sleep(50);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long skippedInSuite = skipped.getAndSet(0);
+        if (skippedInSuite > 0) {
+            logger.warn("{} failure screenshots skipped while the writer was behind", skippedInSuite);
+        }
+    }
+
+    private static String sha1(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-1").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package listeners;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.reporter.ExtentHtmlReporter;
+
+import utilities.CommandMetrics;
+import utilities.RunOutput;
+
+/**
+ * Reports each test as it finishes, into extent-report/ in the run output
+ * directory (target by default):
+ *
+ * results.jsonl - one JSON line per test (suite, status, start, duration,
+ *                 driver commands sent, error), appended and flushed
+ *                 immediately; every suite this listener serves in the
+ *                 JVM adds to the same file, and its parts are numbered
+ *                 on from the previous suite's
+ * part-N.html   - ExtentReports pages of PART_SIZE tests each, re-flushed
+ *                 every FLUSH_EVERY tests so the current part can be opened
+ *                 while the run goes on
+ * index.html    - links to the parts with their pass/fail/skip counts
+ *
+ * Only the current part is held in memory, and an Extent flush rewrites
+ * only that part, so the cost per test does not grow with the run.
+ */
+public class StreamingReportListener implements ITestListener, ISuiteListener {
+
+    private static final Logger logger = LogManager.getLogger(StreamingReportListener.class);
+    private static final Path DIRECTORY = RunOutput.resolve("extent-report");
+    private static final int PART_SIZE = 200;
+    private static final int FLUSH_EVERY = 10;
+    private static final String COMMANDS_AT_START = "commandsAtStart";
+
+    private final Json json = new Json();
+    private final List<int[]> finishedParts = new ArrayList<>();
+    private BufferedWriter results;
+    private boolean truncated;
+    private int runningSuites;
+    private ExtentReports part;
+    private int partNumber;
+    private int testsInPart;
+    private int[] partCounts;
+
+    /** Opens results.jsonl, emptying it only for the first suite so later suites add to the same run. */
+    @Override
+    public synchronized void onStart(ISuite suite) {
+        runningSuites++;
+        if (results != null) {
+            return;
+        }
+        try {
+            Files.createDirectories(DIRECTORY);
+            results = Files.newBufferedWriter(DIRECTORY.resolve("results.jsonl"), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, truncated ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING);
+            truncated = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        result.setAttribute(COMMANDS_AT_START, CommandMetrics.commandsOnThisThread());
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        report(result, "PASS", Status.PASS);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        report(result, "FAIL", Status.FAIL);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        report(result, "SKIP", Status.SKIP);
+    }
+
+    private synchronized void report(ITestResult result, String status, Status extentStatus) {
+        Object atStart = result.getAttribute(COMMANDS_AT_START);
+        // Counted on the test thread, which is the thread TestNG reports results on
+        long commands = atStart == null ? 0 : CommandMetrics.commandsOnThisThread() - (Long) atStart;
+        long duration = result.getEndMillis() - result.getStartMillis();
+        String className = result.getTestClass().getRealClass().getSimpleName();
+
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("suite", result.getTestContext().getSuite().getName());
+        line.put("class", className);
+        line.put("method", result.getMethod().getMethodName());
+        line.put("parameters", result.getParameters().length == 0 ? null : List.of(result.getParameters()).toString());
+        line.put("status", status);
+        line.put("start", result.getStartMillis());
+        line.put("duration_ms", duration);
+        line.put("commands", commands);
+        line.put("thread", Thread.currentThread().getName());
+        line.put("error", result.getThrowable() == null ? null : result.getThrowable().toString());
+        try {
+            json.newOutput(results).setPrettyPrint(false).write(line);
+            results.newLine();
+            results.flush();
+        } catch (IOException e) {
+            logger.warn("Could not append to results.jsonl", e);
+        }
+
+        if (part == null) {
+            startPart();
+        }
+        ExtentTest test = part.createTest(className + "." + result.getMethod().getMethodName())
+                .assignCategory(className);
+        test.getModel().setStartTime(new Date(result.getStartMillis()));
+        test.log(Status.INFO, duration + " ms, " + commands + " driver commands");
+        if (result.getThrowable() != null) {
+            test.log(extentStatus, result.getThrowable());
+        } else {
+            test.log(extentStatus, status);
+        }
+        test.getModel().setEndTime(new Date(result.getEndMillis()));
+        partCounts[extentStatus == Status.PASS ? 0 : extentStatus == Status.FAIL ? 1 : 2]++;
+
+        testsInPart++;
+        if (testsInPart >= PART_SIZE) {
+            finishPart();
+        } else if (testsInPart % FLUSH_EVERY == 0) {
+            part.flush();
+            writeIndex();
+        }
+    }
+
+    private void startPart() {
+        partNumber++;
+        part = new ExtentReports();
+        part.attachReporter(new ExtentHtmlReporter(DIRECTORY.resolve("part-" + partNumber + ".html").toFile()));
+        part.setReportUsesManualConfiguration(true);
+        testsInPart = 0;
+        partCounts = new int[3];
+        writeIndex();
+    }
+
+    private void finishPart() {
+        part.flush();
+        finishedParts.add(partCounts);
+        part = null;
+        writeIndex();
+    }
+
+    private void writeIndex() {
+        StringBuilder html = new StringBuilder("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\">"
+                + "<title>Test report</title></head><body>\n<h1>Test report</h1>\n<ul>\n");
+        for (int i = 0; i < partNumber; i++) {
+            int[] counts = i < finishedParts.size() ? finishedParts.get(i) : partCounts;
+            html.append(String.format("<li><a href=\"part-%d.html\">Part %d</a> - %d passed, %d failed, %d skipped%s</li>%n",
+                    i + 1, i + 1, counts[0], counts[1], counts[2], i < finishedParts.size() ? "" : " (in progress)"));
+        }
+        html.append("</ul>\n<p>Every test, one JSON object per line: <a href=\"results.jsonl\">results.jsonl</a></p>\n"
+                + "</body></html>\n");
+        try {
+            Files.writeString(DIRECTORY.resolve("index.html"), html);
+        } catch (IOException e) {
+            logger.warn("Could not write report index", e);
+        }
+    }
+
+    @Override
+    public synchronized void onFinish(ISuite suite) {
+        if (--runningSuites > 0) {
+            return;
+        }
+        if (part != null) {
+            finishPart();
+        }
+        try {
+            results.close();
+        } catch (IOException e) {
+            logger.warn("Could not close results.jsonl", e);
+        }
+        results = null;
+        logger.info("Report written to {}", DIRECTORY.resolve("index.html"));
+    }
+}
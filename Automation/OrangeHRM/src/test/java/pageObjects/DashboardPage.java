@@ -6,6 +6,7 @@ import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 
 import basePage.BasePage;
+import basePage.MenuIndex;
 import basePage.Header;
 import basePage.NavBar;
 
@@ -18,8 +19,13 @@ public class DashboardPage extends BasePage {
 
     // ===== Constructor =====
 
+    private final Header header;
+    private final NavBar navBar;
+
     public DashboardPage(WebDriver driver) {
         super(driver);
+        header = new Header(driver);
+        navBar = new NavBar(driver);
     }
     // ===== Side Panel Navigation =====
 
@@ -88,22 +94,17 @@ public class DashboardPage extends BasePage {
 
     /** Get the names of all visible main menu items */
     public List<String> getMainMenuItemNames() {
-        return mainMenuItems.stream().map(WebElement::getText).toList();
+        return textsOf("mainMenuItems");
     }
 
     /** Click a main menu item by visible text */
     public void clickMenuItemByName(String menuName) {
-        for (WebElement item : mainMenuItems) {
-            if (item.getText().trim().equalsIgnoreCase(menuName)) {
-                item.click();
-                break;
-            }
-        }
+        MenuIndex.click(driver, locatorOf("mainMenuItems"), menuName);
     }
 
     /** Search in the main menu (if search is present) */
     public void searchMainMenu(String keyword) {
-        if (mainMenuSearchInput != null && mainMenuSearchInput.isDisplayed()) {
+        if (isVisibleNow("mainMenuSearchInput")) {
             mainMenuSearchInput.clear();
             mainMenuSearchInput.sendKeys(keyword);
         }
@@ -111,29 +112,31 @@ public class DashboardPage extends BasePage {
 
     /** Check if side panel brand banner is displayed */
     public boolean isBrandBannerDisplayed() {
-        return sidePanelBrandBanner.isDisplayed();
+        return isVisible("sidePanelBrandBanner");
     }
 
     // --- Buzz Widget ---
 
     /** Check if Buzz Latest Posts widget is displayed */
     public boolean isBuzzWidgetDisplayed() {
-        return buzzWidgetHeader.isDisplayed();
+        return isVisible("buzzWidgetHeader");
     }
 
     /** Get all Buzz post contents (text) */
     public List<String> getAllBuzzPostContents() {
-        return buzzPostCards.stream()
-            .map(card -> card.findElement(
-                org.openqa.selenium.By.cssSelector(".orangehrm-buzz-widget-body")).getText())
-            .toList();
+        return buzzCardTexts(".orangehrm-buzz-widget-body");
     }
 
     /** Get all Buzz post employee names */
     public List<String> getAllBuzzPostEmployeeNames() {
-        return buzzPostCards.stream()
-            .map(card -> card.findElement(
-                org.openqa.selenium.By.cssSelector(".orangehrm-buzz-widget-header-emp")).getText())
+        return buzzCardTexts(".orangehrm-buzz-widget-header-emp");
+    }
+
+    /** Text of one part of every Buzz card, read for all cards in one round trip */
+    private List<String> buzzCardTexts(String partCss) {
+        String property = "text:" + partCss;
+        return extractOf("buzzPostCards", property).stream()
+            .map(card -> card.get(property))
             .toList();
     }
 
@@ -141,7 +144,7 @@ public class DashboardPage extends BasePage {
 
     /** Check if Employees on Leave Today widget is displayed */
     public boolean isOnLeaveWidgetDisplayed() {
-        return onLeaveWidgetHeader.isDisplayed();
+        return isVisible("onLeaveWidgetHeader");
     }
 
     /** Get the "No Employees are on Leave Today" message */
@@ -153,51 +156,51 @@ public class DashboardPage extends BasePage {
 
     /** Check if Employee Distribution by Sub Unit widget is displayed */
     public boolean isEmpDistBySubUnitWidgetDisplayed() {
-        return empDistBySubUnitHeader.isDisplayed();
+        return isVisible("empDistBySubUnitHeader");
     }
 
     /** Get all sub unit names from the chart legend */
     public List<String> getSubUnitLegendNames() {
-        return subUnitLegend.stream().map(WebElement::getText).toList();
+        return textsOf("subUnitLegend");
     }
 
     /** Check if Sub Unit pie chart is displayed */
     public boolean isSubUnitPieChartDisplayed() {
-        return subUnitPieChartCanvas.isDisplayed();
+        return isVisible("subUnitPieChartCanvas");
     }
 
     // --- Employee Distribution by Location Widget ---
 
     /** Check if Employee Distribution by Location widget is displayed */
     public boolean isEmpDistByLocationWidgetDisplayed() {
-        return empDistByLocationHeader.isDisplayed();
+        return isVisible("empDistByLocationHeader");
     }
 
     /** Get all location names from the chart legend */
     public List<String> getLocationLegendNames() {
-        return locationLegend.stream().map(WebElement::getText).toList();
+        return textsOf("locationLegend");
     }
 
     /** Check if Location pie chart is displayed */
     public boolean isLocationPieChartDisplayed() {
-        return locationPieChartCanvas.isDisplayed();
+        return isVisible("locationPieChartCanvas");
     }
     
  // Add these methods to DashboardPage class
 
     public String getTopbarBreadcrumbTitle() {
-        return Header.getBreadcrumbModuleTitle();
+        return header.getBreadcrumbModuleTitle();
     }
 
     public boolean isSidePanelDisplayed() {
     	
-        return NavBar.isSidePanelPresent();
+        return navBar.isSidePanelPresent();
     }
 
     // --- Footer ---
 
     /** Get all footer copyright lines */
     public List<String> getFooterCopyrights() {
-        return footerCopyrights.stream().map(WebElement::getText).toList();
+        return textsOf("footerCopyrights");
     }
 }
\ No newline at end of file
@@ -1,4 +1,7 @@
 package pageObjects;
+import java.time.Duration;
+
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
@@ -10,6 +13,12 @@ import basePage.BasePage;
  * Uses PageFactory for element initialization.
  */
 public class LoginPage extends BasePage{
+
+    // How long client-side validation messages get to render after submit
+    private static final Duration VALIDATION_SETTLE = Duration.ofMillis(500);
+
+    // Where a successful login lands
+    private static final String DASHBOARD_PATH = "/dashboard/";
 	
     // Constructor to initialize elements with PageFactory
     public LoginPage(WebDriver driver) {
@@ -82,7 +91,7 @@ public class LoginPage extends BasePage{
      * @return true if displayed, false otherwise
      */
     public boolean isLogoDisplayed() {
-        return orangehrmLogo.isDisplayed();
+        return isVisible("orangehrmLogo");
     }
     /**
      * Login with provided username and password
@@ -97,17 +106,23 @@ public class LoginPage extends BasePage{
     
     /*to check if error message is displayed successfully
      * on login attempt with in valid credentials.
+     * Resolves as soon as the login attempt has an outcome: the error shows,
+     * or the dashboard URL is reached because the login succeeded. A login
+     * form that is not rendered yet is not an outcome.
      */
-
-
 	public boolean isInvalidCredentialsErrorDisplayed() {
-		// TODO Auto-generated method stub
-		return loginErrorMessage.isDisplayed();
+		By error = locatorOf("loginErrorMessage");
+		String outcome = waits.until(d -> waits.isVisibleNow(error) ? "error"
+				: d.getCurrentUrl().contains(DASHBOARD_PATH) ? "logged in" : null);
+		return "error".equals(outcome);
 	}
 
+	/*
+	 * "Required" is validated in the browser on submit, so it is either shown
+	 * within a moment or not at all; an absent message resolves quickly.
+	 */
 	public boolean isRequiredErrorDisplayed() {
-		// TODO Auto-generated method stub
-		return emptyFieldValidationErrorMessage.isDisplayed();
+		return waits.visible(locatorOf("emptyFieldValidationErrorMessage"), VALIDATION_SETTLE);
 	}
     
     
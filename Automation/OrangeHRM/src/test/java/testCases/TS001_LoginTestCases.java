@@ -1,29 +1,33 @@
 package testCases;
 
+import java.util.Iterator;
+
 import baseTest.BaseTest;
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 import org.testng.asserts.SoftAssert;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import pageObjects.LoginPage;
 import pageObjects.DashboardPage;
+import utilities.ExcelRowStream;
 
 public class TS001_LoginTestCases extends BaseTest {
     private static final Logger logger = LogManager.getLogger(TS001_LoginTestCases.class);
 
-    @Test(priority = 1)
+    @Test
     public void loginWithEmptyUsernameAndPassword() {
         SoftAssert softAssert = new SoftAssert();
         logger.info("Test: loginWithEmptyUsernameAndPassword started");
 
-        LoginPage lp = new LoginPage(driver);
+        LoginPage lp = new LoginPage(getDriver());
         lp.login("       ", "      ");
         logger.info("Submitted login with empty username and password.");
 
         // Assertion: Required error message should be displayed for username and password
         boolean isUsernameErrorDisplayed = lp.isRequiredErrorDisplayed();
      
-        logger.info("Username error displayed: " + isUsernameErrorDisplayed);
+        logger.info("Username error displayed: {}", isUsernameErrorDisplayed);
 
         softAssert.assertTrue(isUsernameErrorDisplayed, "Username required error should be displayed.");
 
@@ -35,18 +39,18 @@ public class TS001_LoginTestCases extends BaseTest {
          logger.info("Test: loginWithEmptyUsernameAndPassword completed");
     }
 
-    @Test(priority = 2)
+    @Test
     public void loginWithInvalidUsernameAndPassword() {
         SoftAssert softAssert = new SoftAssert();
         logger.info("Test: loginWithInvalidUsernameAndPassword started");
 
-        LoginPage lp = new LoginPage(driver);
+        LoginPage lp = new LoginPage(getDriver());
         lp.login("yash", "8787021710");
         logger.info("Submitted login with invalid username and password.");
 
         // Assertion: Invalid credentials error message should be displayed
         boolean isInvalidCredsMessageDisplayed = lp.isInvalidCredentialsErrorDisplayed();
-        logger.info("Invalid Credentials error displayed: " + isInvalidCredsMessageDisplayed);
+        logger.info("Invalid Credentials error displayed: {}", isInvalidCredsMessageDisplayed);
 
         softAssert.assertTrue(isInvalidCredsMessageDisplayed, "Invalid Credentials error should be displayed.");
 
@@ -57,20 +61,44 @@ public class TS001_LoginTestCases extends BaseTest {
         logger.info("Test: loginWithInvalidUsernameAndPassword completed");
     }
 
-    @Test(priority = 3)
+    /** Rows of testData/LoginData.xlsx, streamed so the first test starts before the sheet is fully read. */
+    @DataProvider(name = "InvalidLoginData")
+    public Iterator<Object[]> invalidLoginData() {
+        return ExcelRowStream.open("./testData/LoginData.xlsx", "InvalidLogins", true);
+    }
+
+    @Test(dataProvider = "InvalidLoginData")
+    public void loginWithInvalidCredentialsFromSheet(String username, String password) {
+        SoftAssert softAssert = new SoftAssert();
+        logger.info("Test: loginWithInvalidCredentialsFromSheet started for user '{}'", username);
+
+        LoginPage lp = new LoginPage(getDriver());
+        lp.login(username, password);
+
+        boolean isInvalidCredsMessageDisplayed = lp.isInvalidCredentialsErrorDisplayed();
+        logger.info("Invalid Credentials error displayed: {}", isInvalidCredsMessageDisplayed);
+        softAssert.assertTrue(isInvalidCredsMessageDisplayed, "Invalid Credentials error should be displayed for " + username);
+
+        softAssert.assertAll();
+        logger.info("Test: loginWithInvalidCredentialsFromSheet completed");
+    }
+
+    @Test
     public void loginWithValidUsernameAndValidPassword() {
         SoftAssert softAssert = new SoftAssert();
         logger.info("Test: loginWithValidUsernameAndValidPassword started");
 
-        LoginPage lp = new LoginPage(driver);
+        LoginPage lp = new LoginPage(getDriver());
         lp.login("Admin", "admin123");
         logger.info("Submitted login with valid username and password.");
 
         // Assertion: Dashboard should be displayed
-        DashboardPage dp = new DashboardPage(driver);
-        boolean isDashboardDisplayed = dp.isBuzzWidgetDisplayed() && dp.isOnLeaveWidgetDisplayed();
-        logger.info("Dashboard Buzz Widget displayed: " + dp.isBuzzWidgetDisplayed());
-        logger.info("Dashboard On Leave Widget displayed: " + dp.isOnLeaveWidgetDisplayed());
+        DashboardPage dp = new DashboardPage(getDriver());
+        boolean isBuzzWidgetDisplayed = dp.isBuzzWidgetDisplayed();
+        boolean isOnLeaveWidgetDisplayed = dp.isOnLeaveWidgetDisplayed();
+        boolean isDashboardDisplayed = isBuzzWidgetDisplayed && isOnLeaveWidgetDisplayed;
+        logger.info("Dashboard Buzz Widget displayed: {}", isBuzzWidgetDisplayed);
+        logger.info("Dashboard On Leave Widget displayed: {}", isOnLeaveWidgetDisplayed);
 
         softAssert.assertTrue(isDashboardDisplayed, "Dashboard widgets should be displayed after successful login.");
 
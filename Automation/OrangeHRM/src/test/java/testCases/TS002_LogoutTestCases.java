@@ -1,5 +1,6 @@
 package testCases;
 
+import org.openqa.selenium.WebDriver;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 import baseTest.BaseTest;
@@ -9,9 +10,10 @@ import pageObjects.LoginPage;
 
 public class TS002_LogoutTestCases extends BaseTest {
 
-    @Test(priority = 99)
+    @Test
     public void logoutTestCase() {
-        // Assumes user is already logged in via BaseTest
+        // Logging out ends the session, so this test gets one of its own
+        WebDriver driver = startWithOwnSession("admin", "/dashboard/index");
 
         // Create page objects
         DashboardPage dashboardPage = new DashboardPage(driver);
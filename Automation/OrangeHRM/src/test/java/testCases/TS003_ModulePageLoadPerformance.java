@@ -0,0 +1,161 @@
+package testCases;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import basePage.NavBar;
+import basePage.PageTimings;
+import basePage.WaitEngine;
+import baseTest.BaseTest;
+import utilities.RunOutput;
+
+/**
+ * Load time of every side-panel module, visited PerfVisits times each from
+ * the dashboard (the Dashboard module from Directory). Every visit records
+ * the PageTimings metrics and one "api <path>" sample per /api/v2 call.
+ *
+ * A module fails when a metric's PerfBudgetPercentile (default p90) is over
+ * its budget: PerfBudget.<Module>.<metric> if set, else PerfBudget.<metric>,
+ * in milliseconds. Percentile tables are logged and written with all samples
+ * to target/perf. Run with -DsuiteXmlFile=testng-perf.xml, which turns
+ * network blocking and locator profiling off so neither skews the timings.
+ */
+public class TS003_ModulePageLoadPerformance extends BaseTest {
+    private static final Logger logger = LogManager.getLogger(TS003_ModulePageLoadPerformance.class);
+
+    private static final Path OUTPUT = RunOutput.resolve("perf");
+
+    /** module -> metric -> samples in ms (counts for resources and api_calls) */
+    private static final Map<String, Map<String, List<Double>>> samples = new ConcurrentHashMap<>();
+
+    @DataProvider
+    public Object[][] modules() {
+        return new Object[][] {
+            {"Admin", "/admin/", (Consumer<NavBar>) NavBar::clickAdmin},
+            {"PIM", "/pim/viewEmployeeList", (Consumer<NavBar>) NavBar::clickPIM},
+            {"Leave", "/leave/", (Consumer<NavBar>) NavBar::clickLeave},
+            {"Time", "/time/", (Consumer<NavBar>) NavBar::clickTime},
+            {"Recruitment", "/recruitment/", (Consumer<NavBar>) NavBar::clickRecruitment},
+            {"MyInfo", "/pim/viewPersonalDetails", (Consumer<NavBar>) NavBar::clickMyInfo},
+            {"Performance", "/performance/", (Consumer<NavBar>) NavBar::clickPerformance},
+            {"Dashboard", "/dashboard/", (Consumer<NavBar>) NavBar::clickDashboard},
+            {"Directory", "/directory/", (Consumer<NavBar>) NavBar::clickDirectory},
+            {"Maintenance", "/maintenance/", (Consumer<NavBar>) NavBar::clickMaintenance},
+            {"Claim", "/claim/", (Consumer<NavBar>) NavBar::clickClaim},
+            {"Buzz", "/buzz/", (Consumer<NavBar>) NavBar::clickBuzz},
+        };
+    }
+
+    @Test(dataProvider = "modules")
+    public void modulePageLoad(String module, String urlPart, Consumer<NavBar> open) {
+        boolean fromDirectory = module.equals("Dashboard");
+        String homePath = fromDirectory ? "/directory/viewDirectory" : "/dashboard/index";
+        WebDriver driver = startAuthenticated("admin", homePath);
+        int visits = Integer.parseInt(p.getProperty("PerfVisits", "5"));
+
+        for (int visit = 1; visit <= visits; visit++) {
+            if (visit > 1) {
+                NavBar navBar = new NavBar(driver);
+                double back = PageTimings.mark(driver);
+                if (fromDirectory) {
+                    navBar.clickDirectory();
+                } else {
+                    navBar.clickDashboard();
+                }
+                waitForUrl(driver, homePath);
+                // Let the home page settle so its requests are not counted for the module
+                PageTimings.collect(driver, back);
+            }
+            double start = PageTimings.mark(driver);
+            open.accept(new NavBar(driver));
+            waitForUrl(driver, urlPart);
+            PageTimings timings = PageTimings.collect(driver, start);
+
+            Map<String, List<Double>> metrics = samples.computeIfAbsent(module, m -> new ConcurrentHashMap<>());
+            timings.metrics().forEach((name, value) -> add(metrics, name, value));
+            for (Map<String, Object> call : timings.apiCalls()) {
+                add(metrics, "api " + call.get("path"), ((Number) call.get("ms")).doubleValue());
+            }
+            logger.info("{} visit {}: {} ({})", module, visit, timings.metrics(),
+                    timings.isFullLoad() ? "page load" : "route change");
+        }
+
+        double percentile = Double.parseDouble(p.getProperty("PerfBudgetPercentile", "90"));
+        List<String> overBudget = new ArrayList<>();
+        for (Map.Entry<String, List<Double>> metric : new TreeMap<>(samples.get(module)).entrySet()) {
+            String budget = p.getProperty("PerfBudget." + module + "." + metric.getKey(),
+                    p.getProperty("PerfBudget." + metric.getKey()));
+            if (budget != null) {
+                double value = percentile(metric.getValue(), percentile);
+                if (value > Double.parseDouble(budget)) {
+                    overBudget.add(String.format("%s p%.0f %.0f > %s", metric.getKey(), percentile, value, budget));
+                }
+            }
+        }
+        Assert.assertTrue(overBudget.isEmpty(), module + " over budget: " + overBudget);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void writeTables() throws IOException {
+        if (samples.isEmpty()) {
+            return;
+        }
+        Files.createDirectories(OUTPUT);
+        StringBuilder raw = new StringBuilder("module,metric,sample,value\n");
+        StringBuilder table = new StringBuilder("module,metric,count,p50,p90,p95,max\n");
+        StringBuilder log = new StringBuilder(String.format("%n%-12s %-40s %5s %9s %9s %9s %9s",
+                "module", "metric", "n", "p50", "p90", "p95", "max"));
+        for (Map.Entry<String, Map<String, List<Double>>> module : new TreeMap<>(samples).entrySet()) {
+            for (Map.Entry<String, List<Double>> metric : new TreeMap<>(module.getValue()).entrySet()) {
+                List<Double> values = metric.getValue();
+                for (int i = 0; i < values.size(); i++) {
+                    raw.append(String.format("%s,%s,%d,%.1f%n", module.getKey(), metric.getKey(), i + 1, values.get(i)));
+                }
+                double[] q = {percentile(values, 50), percentile(values, 90), percentile(values, 95), percentile(values, 100)};
+                table.append(String.format("%s,%s,%d,%.1f,%.1f,%.1f,%.1f%n",
+                        module.getKey(), metric.getKey(), values.size(), q[0], q[1], q[2], q[3]));
+                log.append(String.format("%n%-12s %-40s %5d %9.1f %9.1f %9.1f %9.1f",
+                        module.getKey(), metric.getKey(), values.size(), q[0], q[1], q[2], q[3]));
+            }
+        }
+        Files.writeString(OUTPUT.resolve("module-samples.csv"), raw);
+        Files.writeString(OUTPUT.resolve("module-percentiles.csv"), table);
+        logger.info("Module page-load timings:{}", log);
+    }
+
+    private static void add(Map<String, List<Double>> metrics, String name, double value) {
+        metrics.computeIfAbsent(name, n -> Collections.synchronizedList(new ArrayList<>())).add(value);
+    }
+
+    private static void waitForUrl(WebDriver driver, String part) {
+        Assert.assertNotNull(new WaitEngine(driver).until(d -> d.getCurrentUrl().contains(part)),
+                "URL did not change to " + part + ": " + driver.getCurrentUrl());
+    }
+
+    /** Nearest-rank percentile. */
+    private static double percentile(List<Double> values, double percentile) {
+        List<Double> sorted;
+        synchronized (values) {
+            sorted = new ArrayList<>(values);
+        }
+        Collections.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100 * sorted.size());
+        return sorted.get(Math.max(rank, 1) - 1);
+    }
+}
@@ -0,0 +1,63 @@
+package testCases;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Properties;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import utilities.LatencyHistogram;
+import utilities.LoadGenerator;
+import utilities.OrangeHrmStub;
+import utilities.RunOutput;
+
+/**
+ * The login and dashboard flows for LoadUsers simulated users at the HTTP
+ * level (see LoadGenerator). Runs against a local OrangeHrmStub unless
+ * LoadTarget=app, which aims it at AppBaseUrl - only do that against an
+ * instance you own, never the public demo. No browser is used, so this does
+ * not extend BaseTest. Run with -DsuiteXmlFile=testng-load.xml.
+ */
+public class TS004_DashboardLoadTest {
+    private static final Logger logger = LogManager.getLogger(TS004_DashboardLoadTest.class);
+
+    @Test
+    public void loginAndDashboardUnderLoad() throws IOException, InterruptedException {
+        Properties p = new Properties();
+        try (Reader reader = new FileReader("src/test/resources/config.properties")) {
+            p.load(reader);
+        }
+        boolean againstApp = p.getProperty("LoadTarget", "stub").equalsIgnoreCase("app");
+        OrangeHrmStub stub = againstApp ? null : new OrangeHrmStub(p.getProperty("Role.admin.username"),
+                p.getProperty("Role.admin.password"), Long.parseLong(p.getProperty("LoadStubLatencyMillis", "0")));
+        String baseUrl = againstApp ? p.getProperty("AppBaseUrl") : stub.start();
+        logger.info("Load target: {}", baseUrl);
+        try {
+            LoadGenerator generator = LoadGenerator.fromConfig(p, baseUrl);
+            generator.run();
+            generator.export(RunOutput.resolve("load-report.json"));
+
+            long expected = Long.parseLong(p.getProperty("LoadUsers", "100")) * Long.parseLong(p.getProperty("LoadIterations", "3"));
+            Assert.assertEquals(generator.failedIterations(), 0, "Failed flows: " + generator.report().get("steps"));
+            Assert.assertEquals(generator.completedIterations(), expected, "Completed flows");
+
+            String budget = p.getProperty("LoadBudgetP95Millis");
+            if (budget != null) {
+                for (String step : new String[] {"validate", "dashboard", "api buzz feed", "api employees on leave"}) {
+                    LatencyHistogram latency = generator.step(step);
+                    double p95 = latency.percentileNanos(95) / 1_000_000.0;
+                    Assert.assertTrue(p95 <= Double.parseDouble(budget),
+                            String.format("%s p95 %.1f ms is over the %s ms budget", step, p95, budget));
+                }
+            }
+        } finally {
+            if (stub != null) {
+                stub.stop();
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package utilities;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.json.Json;
+
+/**
+ * Process-wide latency of WebDriver commands, one histogram per command
+ * (click, findElement, getText, executeScript, get...) and one per calling
+ * page-object method and command, e.g. "DashboardPage.getMainMenuItemNames
+ * executeScript". Fed by listeners.CommandTimingListener.
+ */
+public final class CommandMetrics {
+
+    private static final Map<String, LatencyHistogram> BY_COMMAND = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> BY_CALLER = new ConcurrentHashMap<>();
+    private static final ThreadLocal<long[]> THREAD_COMMANDS = ThreadLocal.withInitial(() -> new long[1]);
+
+    private CommandMetrics() {
+    }
+
+    public static void record(String command, String caller, long nanos) {
+        BY_COMMAND.computeIfAbsent(command, key -> new LatencyHistogram()).record(nanos);
+        BY_CALLER.computeIfAbsent(caller + " " + command, key -> new LatencyHistogram()).record(nanos);
+        THREAD_COMMANDS.get()[0]++;
+    }
+
+    /** Commands sent from the calling thread so far; take the difference around a test to count its commands. */
+    public static long commandsOnThisThread() {
+        return THREAD_COMMANDS.get()[0];
+    }
+
+    public static Map<String, LatencyHistogram> byCommand() {
+        return BY_COMMAND;
+    }
+
+    /** Write count, total, p50, p90, p99 and max per command and per caller as JSON. */
+    public static void export(Path file) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("commands", summaries(BY_COMMAND));
+        report.put("callers", summaries(BY_CALLER));
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.writeString(file, new Json().toJson(report));
+    }
+
+    private static Map<String, Object> summaries(Map<String, LatencyHistogram> histograms) {
+        Map<String, Object> summaries = new TreeMap<>();
+        histograms.forEach((name, histogram) -> summaries.put(name, histogram.summary()));
+        return summaries;
+    }
+}
@@ -0,0 +1,174 @@
+package utilities;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.poi.xssf.usermodel.XSSFRow;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+/**
+ * Write-behind sink for cell values written back to an .xlsx file, e.g. the
+ * pass/fail status of data-driven tests. Writes from any thread are queued in
+ * memory and applied to the workbook in one open/write cycle when the batch
+ * reaches excel.flush.rows cells, every excel.flush.millis milliseconds, on
+ * flushAll() at suite end, and from a shutdown hook as a last resort.
+ *
+ * Queued values are not visible to reads until they have been flushed.
+ */
+public class ExcelResultWriter {
+
+    private static final int BATCH_SIZE = Integer.getInteger("excel.flush.rows", 500);
+    private static final long FLUSH_MILLIS = Long.getLong("excel.flush.millis", 5000);
+
+    private static final Map<String, ExcelResultWriter> WRITERS = new ConcurrentHashMap<>();
+    private static final ScheduledExecutorService FLUSHER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "excel-result-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        FLUSHER.scheduleWithFixedDelay(ExcelResultWriter::flushAllQuietly, FLUSH_MILLIS, FLUSH_MILLIS, TimeUnit.MILLISECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(ExcelResultWriter::flushAllQuietly, "excel-result-writer-shutdown"));
+    }
+
+    private final File file;
+    private final Queue<CellWrite> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    /** A batch whose write failed; it goes ahead of newer writes so they still win. */
+    private List<CellWrite> failed = new ArrayList<>();
+
+    private ExcelResultWriter(File file) {
+        this.file = file;
+    }
+
+    /** The shared writer for a workbook; all threads writing to one file share it. */
+    public static ExcelResultWriter forPath(String path) throws IOException {
+        return WRITERS.computeIfAbsent(new File(path).getCanonicalPath(), key -> new ExcelResultWriter(new File(key)));
+    }
+
+    /** Flush every writer; call at suite end. Values from a failed background flush are retried here. */
+    public static void flushAll() throws IOException {
+        IOException failure = null;
+        for (ExcelResultWriter writer : WRITERS.values()) {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /** Queue a cell value; the sheet and row are created on flush if missing. */
+    public void write(String sheetName, int rownum, int colnum, String data) {
+        pending.add(new CellWrite(sheetName, rownum, colnum, data));
+        if (pendingCount.incrementAndGet() == BATCH_SIZE) {
+            FLUSHER.execute(this::flushQuietly);
+        }
+    }
+
+    /** Apply every queued value to the workbook with a single write. */
+    public synchronized void flush() throws IOException {
+        List<CellWrite> batch = failed;
+        failed = new ArrayList<>();
+        int queued = 0;
+        for (CellWrite write; (write = pending.poll()) != null; ) {
+            batch.add(write);
+            queued++;
+        }
+        pendingCount.addAndGet(-queued);
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            writeBatch(batch);
+        } catch (IOException e) {
+            // Keep the values for the next attempt, ordered before anything queued since
+            failed = batch;
+            throw e;
+        }
+    }
+
+    private void writeBatch(List<CellWrite> batch) throws IOException {
+        XSSFWorkbook workbook;
+        if (file.exists()) {
+            try (FileInputStream fi = new FileInputStream(file)) {
+                workbook = new XSSFWorkbook(fi);
+            }
+        } else {
+            workbook = new XSSFWorkbook();
+        }
+        try (XSSFWorkbook wb = workbook) {
+            for (CellWrite write : batch) {
+                XSSFSheet sheet = wb.getSheet(write.sheetName);
+                if (sheet == null) {
+                    sheet = wb.createSheet(write.sheetName);
+                }
+                XSSFRow row = sheet.getRow(write.rownum);
+                if (row == null) {
+                    row = sheet.createRow(write.rownum);
+                }
+                row.createCell(write.colnum).setCellValue(write.data);
+            }
+            // Write beside the target and swap it in, so readers never see a half-written file
+            Path target = file.toPath();
+            Path temp = Files.createTempFile(target.toAbsolutePath().getParent(), file.getName(), ".tmp");
+            try {
+                try (FileOutputStream fo = new FileOutputStream(temp.toFile())) {
+                    wb.write(fo);
+                }
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+        WorkbookCache.invalidate(file.getPath());
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException e) {
+            // Values were re-queued; the next flush retries them
+        }
+    }
+
+    private static void flushAllQuietly() {
+        for (ExcelResultWriter writer : WRITERS.values()) {
+            writer.flushQuietly();
+        }
+    }
+
+    private static final class CellWrite {
+        final String sheetName;
+        final int rownum;
+        final int colnum;
+        final String data;
+
+        CellWrite(String sheetName, int rownum, int colnum, String data) {
+            this.sheetName = sheetName;
+            this.rownum = rownum;
+            this.colnum = colnum;
+            this.data = data;
+        }
+    }
+}
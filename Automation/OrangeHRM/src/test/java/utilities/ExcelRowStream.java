@@ -0,0 +1,221 @@
+package utilities;
+
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+/**
+ * Streams the rows of one .xlsx sheet through POI's SAX event API, for sheets
+ * too large to load as an XSSFWorkbook. A background thread parses the sheet
+ * into a small bounded queue, so memory stays flat whatever the sheet size and
+ * the first row is available as soon as it has been parsed.
+ *
+ * Each row is an Object[] of formatted cell strings, which a TestNG
+ * DataProvider can return directly:
+ *
+ * <pre>
+ * &#64;DataProvider(name = "LoginData")
+ * public Iterator&lt;Object[]&gt; loginData() {
+ *     return ExcelRowStream.open("./testData/LoginData.xlsx", "Sheet1", true);
+ * }
+ * </pre>
+ *
+ * With skipHeader the first non-blank row is the header, wherever the table
+ * starts: its first and last non-empty columns bound every data row, so a table
+ * offset by blank rows or columns reads the same as one at A1. Otherwise a row
+ * runs from column A to its last non-empty cell. Blank rows are skipped.
+ */
+public class ExcelRowStream implements Iterator<Object[]>, AutoCloseable {
+
+    private static final int BUFFERED_ROWS = 256;
+    private static final Object[] END = new Object[0];
+
+    private final BlockingQueue<Object[]> rows = new ArrayBlockingQueue<>(BUFFERED_ROWS);
+    private final String path;
+    private final String sheetName;
+    private final boolean skipHeader;
+    private volatile boolean closed;
+    private volatile Throwable failure;
+    private Thread parser;
+    private Object[] next;
+
+    private ExcelRowStream(String path, String sheetName, boolean skipHeader) {
+        this.path = path;
+        this.sheetName = sheetName;
+        this.skipHeader = skipHeader;
+    }
+
+    /**
+     * Start streaming a sheet.
+     * @param skipHeader true if the first non-blank row is a header that should not be returned
+     */
+    public static ExcelRowStream open(String path, String sheetName, boolean skipHeader) {
+        ExcelRowStream stream = new ExcelRowStream(path, sheetName, skipHeader);
+        stream.parser = new Thread(stream::parse, "excel-stream-" + sheetName);
+        stream.parser.setDaemon(true);
+        stream.parser.start();
+        return stream;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        if (next == null) {
+            try {
+                next = rows.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while reading " + path, e);
+            }
+        }
+        if (next == END || closed) {
+            rows.offer(END);
+            if (failure != null) {
+                throw new IllegalStateException("Could not read sheet '" + sheetName + "' of " + path, failure);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public Object[] next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Object[] row = next;
+        next = null;
+        return row;
+    }
+
+    /**
+     * Stop the parser early; rows already buffered are discarded. The parser is
+     * interrupted, so it leaves a blocking put() at once, and a reader waiting
+     * in hasNext() is woken with the end marker.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        parser.interrupt();
+        rows.clear();
+        rows.offer(END);
+    }
+
+    private void parse() {
+        try (OPCPackage pkg = OPCPackage.open(path, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (sheets.hasNext()) {
+                try (InputStream sheet = sheets.next()) {
+                    if (sheets.getSheetName().equals(sheetName)) {
+                        XMLReader xml = XMLHelper.newXMLReader();
+                        xml.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(), null,
+                                new ReadOnlySharedStringsTable(pkg), new RowCollector(), new DataFormatter(), false));
+                        xml.parse(new InputSource(sheet));
+                        return;
+                    }
+                }
+            }
+            throw new IllegalArgumentException("Sheet '" + sheetName + "' not found");
+        } catch (StreamClosed e) {
+            // Consumer stopped reading
+        } catch (Exception e) {
+            failure = e;
+        } finally {
+            try {
+                put(END);
+            } catch (StreamClosed e) {
+                // Closed while finishing; close() has queued the end marker
+            }
+        }
+    }
+
+    private void put(Object[] row) {
+        if (closed) {
+            throw new StreamClosed();
+        }
+        try {
+            rows.put(row);
+        } catch (InterruptedException e) {
+            throw new StreamClosed();
+        }
+    }
+
+    /** Collects the formatted cells of one row and queues it when the row ends. */
+    private class RowCollector implements SheetContentsHandler {
+        private String[] cells = new String[16];
+        private int first;
+        private int width;
+        private int headerFirst = -1;
+        private int headerWidth;
+
+        @Override
+        public void startRow(int rowNum) {
+            Arrays.fill(cells, 0, width, null);
+            first = Integer.MAX_VALUE;
+            width = 0;
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int col = new CellReference(cellReference).getCol();
+            if (col >= cells.length) {
+                cells = Arrays.copyOf(cells, Math.max(col + 1, cells.length * 2));
+            }
+            if (formattedValue != null && !formattedValue.isEmpty()) {
+                cells[col] = formattedValue;
+                first = Math.min(first, col);
+                width = Math.max(width, col + 1);
+            }
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (closed) {
+                throw new StreamClosed();
+            }
+            if (width == 0) {
+                return;
+            }
+            if (skipHeader && headerFirst < 0) {
+                headerFirst = first;
+                headerWidth = width;
+                return;
+            }
+            int from = skipHeader ? headerFirst : 0;
+            int to = skipHeader ? headerWidth : width;
+            Object[] row = new Object[to - from];
+            for (int c = from; c < to; c++) {
+                row[c - from] = c < width && cells[c] != null ? cells[c] : "";
+            }
+            put(row);
+        }
+    }
+
+    /** Thrown from the SAX callbacks to abandon parsing once the stream is closed. */
+    private static class StreamClosed extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        StreamClosed() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -1,27 +1,9 @@
 package utilities;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import org.apache.poi.ss.usermodel.DataFormatter;
-
-
-import org.apache.poi.ss.usermodel.CellStyle;
-import org.apache.poi.xssf.usermodel.XSSFCell;
-import org.apache.poi.xssf.usermodel.XSSFRow;
-import org.apache.poi.xssf.usermodel.XSSFSheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
 public class Excelutility 
 {
-	public FileInputStream fi;
-	public FileOutputStream fo;
-	public XSSFWorkbook workbook;
-	public XSSFSheet sheet;
-	public XSSFRow row;
-	public XSSFCell cell;
-	public CellStyle style;
 	String path;
 	
 	
@@ -31,72 +13,23 @@ public class Excelutility
 	}
 	public int getRowCount(String sheetName) throws IOException
 	{
-		fi=new FileInputStream(path);
-		workbook=new XSSFWorkbook(fi);
-		sheet=workbook.getSheet(sheetName);
-		int rowcount=sheet.getLastRowNum();
-		workbook.close();
-		fi.close();
-		return rowcount;
+		return WorkbookCache.sheet(path, sheetName).getLastRowNum();
 	}
 
 	public int getCellCount(String sheetName, int rownum) throws IOException {
-		fi=new FileInputStream(path);
-		workbook=new XSSFWorkbook(fi); 
-		sheet=workbook.getSheet(sheetName); 
-		row=sheet.getRow(rownum);
-		int cellcount=row.getLastCellNum();
-		workbook.close();
-		fi.close();
-		return cellcount;
+		return WorkbookCache.sheet(path, sheetName).getLastCellNum(rownum);
 	}
 	public String getCellData(String sheetName, int rownum, int colnum) throws IOException
 	{
-		fi=new FileInputStream(path);
-		workbook=new XSSFWorkbook(fi);
-		sheet=workbook.getSheet(sheetName);
-		row=sheet.getRow(rownum); 
-		cell=row.getCell(colnum);
-		DataFormatter formatter = new DataFormatter();
-		String data;
-		try
-		{
-			data = formatter.formatCellValue(cell);
-		}
-		catch(Exception e)
-		{
-			data="";
-		}
-		workbook.close(); 
-		fi.close(); 
-		return data;
+		return WorkbookCache.sheet(path, sheetName).getCellData(rownum, colnum);
 	}
+	/**
+	 * Queue a cell value for the shared write-behind writer of this workbook.
+	 * The value reaches the file on the next batch flush, at the latest when
+	 * ExcelResultWriter.flushAll() runs at suite end.
+	 */
 	public void setCellData(String sheetName, int rownum, int colnum, String data) throws IOException
 	{
-		File xlfile=new File(path);
-		if(!xlfile.exists()) // If file not exists then create new file
-		{
-			workbook=new XSSFWorkbook();
-		}
-
-		fo=new FileOutputStream(path);
-		workbook.write(fo);
-
-		fi=new FileInputStream(path); 
-		workbook=new XSSFWorkbook(fi);
-
-		if(workbook.getSheetIndex(sheetName)==-1) // If sheet not exists then create new Sheet workbook.createSheet(sheetName);
-			sheet=workbook.getSheet(sheetName);
-
-		if(sheet.getRow(rownum)==null) // If row not exists then create new Row sheet.createRow(rownum);
-			row=sheet.getRow(rownum);
-		cell=row.createCell(colnum);
-		cell.setCellValue(data);
-		fo=new FileOutputStream(path);
-		workbook.write(fo);
-		workbook.close();
-		fi.close();
-		fo.close();
+		ExcelResultWriter.forPath(path).write(sheetName, rownum, colnum, data);
 	}
 }
-
@@ -0,0 +1,785 @@
+package utilities;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.testng.xml.SuiteXmlParser;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+/**
+ * Picks the tests a change can affect and writes them as a TestNG suite.
+ *
+ * The Java sources under src/test/java are read into a graph of members
+ * (methods, constructors and fields such as @FindBy elements) and what each
+ * method body refers to: members of its own class by name (including field
+ * names passed as strings, as in textsOf("mainMenuItems")), methods by call
+ * name or method reference (NavBar::clickAdmin) in any class the caller
+ * inherits from or names, and classes by type name; a class the member names
+ * but none of whose members it can be seen to use - reflection, PageFactory -
+ * counts as used whole. A @Test method also uses its dataProvider. Lines
+ * changed since a git
+ * ref are mapped to the members that contain them and propagated to every
+ * method that can reach them; the @Test methods reached are selected.
+ * Overloads are separate members (keyed by name and parameter count), a call
+ * reaches every overload of its name, and a @Test method declared in a base
+ * class is selected on each class that inherits it. The selection is closed
+ * over dependsOnMethods and dependsOnGroups, so TestNG finds every method a
+ * selected test depends on.
+ *
+ * It errs towards running more: a changed line outside any member counts as
+ * a change to the whole class, and the full suite runs when anything other
+ * than Java under src/test/java changed (pom, suite files, config, test data),
+ * when a Java file was deleted, or when a change reaches a @Before / @After
+ * configuration method.
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.mainClass=utilities.ImpactSelector -Dexec.classpathScope=test -Dexec.args="origin/main testng.xml" -Dexec.cleanupDaemonThreads=false
+ * mvn surefire:test -DsuiteXmlFile=target/impact/testng-impact.xml
+ * </pre>
+ * When no test of the suite is affected no suite file is written (a previous
+ * one is removed), so the second step has nothing to run.
+ */
+public final class ImpactSelector {
+
+    private static final Path SOURCES = Paths.get("src", "test", "java");
+    private static final Path OUTPUT = Paths.get("target", "impact", "testng-impact.xml");
+    private static final String CLASS_NODE = "<class>";
+
+    private static final Pattern HUNK = Pattern.compile("^@@ -\\d+(?:,\\d+)? \\+(\\d+)(?:,(\\d+))? @@");
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_$][\\w$]*");
+    private static final Pattern CALL = Pattern.compile("([A-Za-z_$][\\w$]*)\\s*\\(");
+    private static final Pattern METHOD_REFERENCE = Pattern.compile("::\\s*([A-Za-z_$][\\w$]*)");
+    private static final Pattern TYPE_DECLARATION = Pattern.compile("\\b(?:class|interface|enum|record)\\s+([A-Za-z_$][\\w$]*)");
+    private static final Pattern CONFIGURATION = Pattern.compile("@(?:Before|After)\\w*");
+    private static final Pattern ANNOTATION = Pattern.compile("@[\\w.]+\\s*(?:\\([^()]*\\))?");
+    private static final Pattern TRAILING_NAME = Pattern.compile("([A-Za-z_$][\\w$]*)\\s*$");
+    private static final Pattern SUPERCLASS = Pattern.compile("\\bextends\\s+([A-Za-z_$][\\w$]*)");
+    private static final Pattern TEST_ATTRIBUTE = Pattern.compile(
+            "\\b(dependsOnMethods|dependsOnGroups|groups|dataProvider)\\s*=\\s*(\\{[^}]*\\}|\"[^\"]*\")");
+    private static final Pattern DATA_PROVIDER = Pattern.compile("@DataProvider\\b(?:\\s*\\(([^)]*)\\))?");
+    private static final Pattern NAME_ATTRIBUTE = Pattern.compile("\\bname\\s*=\\s*\"([^\"]*)\"");
+    private static final Pattern STRING_LITERAL = Pattern.compile("\"([^\"]*)\"");
+
+    /** By qualified name, and by simple name for resolving type references. */
+    private final Map<String, SourceClass> classes = new LinkedHashMap<>();
+    private final Map<String, SourceClass> bySimpleName = new HashMap<>();
+    private final Path sources;
+
+    private ImpactSelector(Path sources) {
+        this.sources = sources;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String base = args.length > 0 ? args[0] : "HEAD";
+        String suiteFile = args.length > 1 ? args[1] : "testng.xml";
+        Set<String> selected = select(base);
+        XmlSuite suite;
+        try (InputStream in = Files.newInputStream(Paths.get(suiteFile))) {
+            suite = new SuiteXmlParser().parse(suiteFile, in, false);
+        }
+        if (selected == null) {
+            System.out.println("Change is not limited to page objects and tests: running the full suite");
+        } else {
+            System.out.println("Affected tests: " + (selected.isEmpty() ? "none" : String.join(", ", selected)));
+            suite = restrict(suite, selected);
+        }
+        if (suite.getTests().isEmpty()) {
+            Files.deleteIfExists(OUTPUT);
+            System.out.println("Nothing in " + suiteFile + " is affected: no suite written, no tests to run");
+            return;
+        }
+        Files.createDirectories(OUTPUT.getParent());
+        Files.writeString(OUTPUT, suite.toXml());
+        System.out.println(OUTPUT);
+    }
+
+    /**
+     * "class#method" of every @Test method affected by the changes since the
+     * ref (working tree included), or null if the full suite has to run.
+     */
+    public static Set<String> select(String base) throws IOException, InterruptedException {
+        Map<String, Set<Integer>> lines = changedLines(base);
+        return lines == null ? null : load(SOURCES).select(lines);
+    }
+
+    /** Parse every Java file under a source root. */
+    static ImpactSelector load(Path sources) throws IOException {
+        ImpactSelector selector = new ImpactSelector(sources);
+        try (Stream<Path> files = Files.walk(sources)) {
+            for (Path file : files.filter(f -> f.toString().endsWith(".java")).collect(Collectors.toList())) {
+                selector.parse(file);
+            }
+        }
+        return selector;
+    }
+
+    /**
+     * "class#method" of every @Test method affected by changes to the given
+     * lines (1-based, per file path as git reports it), or null if the full
+     * suite has to run.
+     */
+    Set<String> select(Map<String, Set<Integer>> lines) {
+        Set<String> changed = changedMembers(lines);
+        return changed == null ? null : affectedTests(changed);
+    }
+
+    // ----- Changes -----
+
+    /** Lines changed since the ref, by file; null when a file was deleted. */
+    private static Map<String, Set<Integer>> changedLines(String base) throws IOException, InterruptedException {
+        Map<String, Set<Integer>> lines = new TreeMap<>();
+        String file = null;
+        for (String line : git("diff", "-U0", "--no-color", "--no-renames", "--relative", base)) {
+            if (line.startsWith("+++ ")) {
+                file = line.equals("+++ /dev/null") ? null : line.substring(line.indexOf('/') + 1);
+                if (file == null) {
+                    return null;
+                }
+                lines.computeIfAbsent(file, f -> new HashSet<>());
+                continue;
+            }
+            Matcher hunk = HUNK.matcher(line);
+            if (file != null && hunk.find()) {
+                int start = Integer.parseInt(hunk.group(1));
+                int count = hunk.group(2) == null ? 1 : Integer.parseInt(hunk.group(2));
+                // A pure deletion sits between line start and start + 1
+                for (int n = start; n < start + Math.max(count, 2); n++) {
+                    lines.get(file).add(n);
+                }
+            }
+        }
+        for (String untracked : git("ls-files", "--others", "--exclude-standard")) {
+            lines.put(untracked, Set.of(0));
+        }
+        return lines;
+    }
+
+    /** Members containing the changed lines; null when the change cannot be mapped to members. */
+    private Set<String> changedMembers(Map<String, Set<Integer>> lines) {
+        Set<String> changed = new LinkedHashSet<>();
+        for (Map.Entry<String, Set<Integer>> entry : lines.entrySet()) {
+            Path path = Paths.get(entry.getKey());
+            if (!path.startsWith(sources) || !path.toString().endsWith(".java")) {
+                return null;
+            }
+            List<SourceClass> declared = classes.values().stream()
+                    .filter(c -> c.file.equals(path)).collect(Collectors.toList());
+            for (SourceClass sourceClass : declared) {
+                if (!isPageOrTest(sourceClass)) {
+                    return null;
+                }
+                for (int line : entry.getValue()) {
+                    String member = sourceClass.memberAt(line);
+                    if (member == null) {
+                        changed.add(sourceClass.name + "#" + CLASS_NODE);
+                        changed.addAll(sourceClass.memberKeys());
+                    } else {
+                        changed.add(member);
+                    }
+                }
+            }
+        }
+        return changed;
+    }
+
+    private static List<String> git(String... args) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(List.of("git"));
+        command.addAll(List.of(args));
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        List<String> output;
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            output = in.lines().collect(Collectors.toList());
+        }
+        if (process.waitFor() != 0) {
+            throw new IOException("git " + String.join(" ", args) + " failed: " + String.join("\n", output));
+        }
+        return output;
+    }
+
+    // ----- Propagation -----
+
+    private Set<String> affectedTests(Set<String> changed) {
+        Map<String, Set<String>> dependents = new HashMap<>();
+        for (SourceClass sourceClass : classes.values()) {
+            for (Member member : sourceClass.members.values()) {
+                for (String target : resolve(sourceClass, member)) {
+                    dependents.computeIfAbsent(target, t -> new HashSet<>()).add(sourceClass.name + "#" + member.key);
+                }
+            }
+        }
+        Set<String> affected = new LinkedHashSet<>(changed);
+        Deque<String> pending = new ArrayDeque<>(changed);
+        while (!pending.isEmpty()) {
+            for (String dependent : dependents.getOrDefault(pending.poll(), Set.of())) {
+                if (affected.add(dependent)) {
+                    pending.add(dependent);
+                }
+            }
+        }
+
+        Set<String> tests = new LinkedHashSet<>();
+        for (String key : affected) {
+            Member member = member(key);
+            if (member == null) {
+                continue;
+            }
+            if (member.configuration) {
+                return null;
+            }
+            if (member.test) {
+                tests.add(key);
+            }
+        }
+        addDependencies(tests);
+        return onRunningClasses(tests);
+    }
+
+    /** Adds, transitively, every test method the tests depend on through dependsOnMethods or dependsOnGroups. */
+    private void addDependencies(Set<String> tests) {
+        Deque<String> pending = new ArrayDeque<>(tests);
+        while (!pending.isEmpty()) {
+            String key = pending.poll();
+            SourceClass owner = classes.get(key.substring(0, key.indexOf('#')));
+            Member test = member(key);
+            Set<String> upstream = new LinkedHashSet<>();
+            for (String dependency : test.dependsOnMethods) {
+                upstream.addAll(testsMatching(owner, dependency));
+            }
+            for (SourceClass sourceClass : classes.values()) {
+                for (Member member : sourceClass.members.values()) {
+                    if (member.test && member.groups.stream().anyMatch(test.dependsOnGroups::contains)) {
+                        upstream.add(sourceClass.name + "#" + member.key);
+                    }
+                }
+            }
+            for (String dependency : upstream) {
+                if (tests.add(dependency)) {
+                    pending.add(dependency);
+                }
+            }
+        }
+    }
+
+    /**
+     * Test methods a dependsOnMethods entry names: "method" (a regular
+     * expression, as TestNG allows) in the owner or the class it inherits it
+     * from, falling back to subclasses, or "package.Class.method".
+     */
+    private Set<String> testsMatching(SourceClass owner, String dependency) {
+        int dot = dependency.lastIndexOf('.');
+        SourceClass named = dot < 0 ? null : classes.get(dependency.substring(0, dot));
+        List<SourceClass> candidates = named != null ? List.of(named) : ancestors(owner);
+        String method = named != null ? dependency.substring(dot + 1) : dependency;
+        Set<String> found = testsNamed(candidates, method);
+        if (found.isEmpty() && named == null) {
+            found = testsNamed(classes.values().stream().filter(c -> ancestors(c).contains(owner))
+                    .collect(Collectors.toList()), method);
+        }
+        return found;
+    }
+
+    private static Set<String> testsNamed(List<SourceClass> candidates, String method) {
+        Set<String> found = new LinkedHashSet<>();
+        for (SourceClass sourceClass : candidates) {
+            for (Member member : sourceClass.members.values()) {
+                if (member.test && (member.name.equals(method) || matches(member.name, method))) {
+                    found.add(sourceClass.name + "#" + member.key);
+                }
+            }
+            if (!found.isEmpty()) {
+                break;
+            }
+        }
+        return found;
+    }
+
+    private static boolean matches(String name, String regex) {
+        try {
+            return name.matches(regex);
+        } catch (PatternSyntaxException e) {
+            return false;
+        }
+    }
+
+    /** "class#method" for each class that runs a selected test: the declaring class and every subclass. */
+    private Set<String> onRunningClasses(Set<String> tests) {
+        Set<String> selected = new LinkedHashSet<>();
+        for (String key : tests) {
+            SourceClass declaring = classes.get(key.substring(0, key.indexOf('#')));
+            String method = member(key).name;
+            for (SourceClass sourceClass : classes.values()) {
+                if (ancestors(sourceClass).contains(declaring)) {
+                    selected.add(sourceClass.name + "#" + method);
+                }
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Nodes a member refers to: its own class's members, methods called or
+     * referenced by name anywhere, its dataProvider, and classes - all of a
+     * named class when none of its members is among the rest.
+     */
+    private Set<String> resolve(SourceClass owner, Member member) {
+        Set<String> targets = new HashSet<>();
+        List<SourceClass> types = new ArrayList<>();
+        for (String name : member.references) {
+            for (Member referenced : owner.named(name)) {
+                targets.add(owner.name + "#" + referenced.key);
+            }
+            SourceClass type = bySimpleName.get(name);
+            if (type != null && type != owner) {
+                types.add(type);
+            }
+        }
+        for (String call : member.calls) {
+            for (SourceClass sourceClass : classes.values()) {
+                for (Member callee : sourceClass.named(call)) {
+                    if (callee.method && canCall(owner, sourceClass)) {
+                        targets.add(sourceClass.name + "#" + callee.key);
+                    }
+                }
+            }
+        }
+        if (member.dataProvider != null) {
+            targets.addAll(dataProviders(owner, member.dataProvider));
+        }
+        for (SourceClass type : types) {
+            targets.add(type.name + "#" + CLASS_NODE);
+            if (targets.stream().noneMatch(t -> t.startsWith(type.name + "#") && !t.endsWith(CLASS_NODE))) {
+                targets.addAll(type.memberKeys());
+            }
+        }
+        return targets;
+    }
+
+    /** The @DataProvider methods of that name the owner can use: its own or inherited, else any class it names. */
+    private Set<String> dataProviders(SourceClass owner, String name) {
+        Set<String> found = new LinkedHashSet<>();
+        for (SourceClass sourceClass : ancestors(owner)) {
+            providersNamed(sourceClass, name, found);
+        }
+        if (found.isEmpty()) {
+            for (SourceClass sourceClass : classes.values()) {
+                if (canCall(owner, sourceClass)) {
+                    providersNamed(sourceClass, name, found);
+                }
+            }
+        }
+        return found;
+    }
+
+    private static void providersNamed(SourceClass sourceClass, String name, Set<String> found) {
+        for (Member member : sourceClass.members.values()) {
+            if (name.equals(member.providerName)) {
+                found.add(sourceClass.name + "#" + member.key);
+            }
+        }
+    }
+
+    /** Whether code in the owner can call methods of the class: its own or inherited, or a type it names. */
+    private boolean canCall(SourceClass owner, SourceClass callee) {
+        return owner.identifiers.contains(callee.simpleName()) || ancestors(owner).contains(callee);
+    }
+
+    /** The class and the classes it extends that are part of the sources, nearest first. */
+    private List<SourceClass> ancestors(SourceClass sourceClass) {
+        List<SourceClass> chain = new ArrayList<>();
+        for (SourceClass type = sourceClass; type != null && !chain.contains(type); type = bySimpleName.get(type.superclass)) {
+            chain.add(type);
+        }
+        return chain;
+    }
+
+    private Member member(String key) {
+        int hash = key.indexOf('#');
+        SourceClass sourceClass = classes.get(key.substring(0, hash));
+        return sourceClass == null ? null : sourceClass.members.get(key.substring(hash + 1));
+    }
+
+    // ----- Source parsing -----
+
+    /**
+     * Page objects (BasePage subclasses, but not BasePage) and test classes are
+     * only reached from tests through calls the graph can see. Everything else
+     * - BasePage, waits, locator factories, BaseTest, listeners, utilities - is
+     * also used through reflection, TestNG or PageFactory, so a change there
+     * selects everything.
+     */
+    private boolean isPageOrTest(SourceClass sourceClass) {
+        for (SourceClass type : ancestors(sourceClass)) {
+            if ("BasePage".equals(type.superclass) || type.members.values().stream().anyMatch(m -> m.test)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Reads one compilation unit's top-level class and its members (nested types count as the class itself). */
+    private void parse(Path file) throws IOException {
+        String source = Files.readString(file);
+        Map<Integer, String> strings = new HashMap<>();
+        String code = blankCommentsAndStrings(source, strings);
+        Matcher declaration = TYPE_DECLARATION.matcher(code);
+        if (!declaration.find()) {
+            return;
+        }
+        String packageName = "";
+        Matcher packageMatcher = Pattern.compile("\\bpackage\\s+([\\w.]+)\\s*;").matcher(code);
+        if (packageMatcher.find()) {
+            packageName = packageMatcher.group(1) + ".";
+        }
+        int body = code.indexOf('{', declaration.end());
+        Matcher superclass = SUPERCLASS.matcher(code.substring(declaration.end(), body));
+        SourceClass sourceClass = new SourceClass(packageName + declaration.group(1), file,
+                superclass.find() ? superclass.group(1) : null);
+        classes.put(sourceClass.name, sourceClass);
+        bySimpleName.put(declaration.group(1), sourceClass);
+        Matcher identifier = IDENTIFIER.matcher(code);
+        while (identifier.find()) {
+            sourceClass.identifiers.add(identifier.group());
+        }
+
+        int depth = 0;
+        // Inside parentheses - annotation arrays such as dependsOnMethods = {...},
+        // lambdas in field initializers - braces and semicolons are not members
+        int parens = 0;
+        int statementStart = body + 1;
+        for (int i = body; i < code.length(); i++) {
+            char c = code.charAt(i);
+            if (c == '(') {
+                parens++;
+            } else if (c == ')') {
+                parens--;
+            } else if (parens > 0) {
+                continue;
+            } else if (c == '{') {
+                if (depth == 1) {
+                    int headerEnd = i;
+                    int close = matchingBrace(code, i);
+                    addMember(sourceClass, source, code, statementStart, headerEnd, close, strings);
+                    i = close;
+                    statementStart = close + 1;
+                    continue;
+                }
+                depth++;
+            } else if (c == '}') {
+                break;
+            } else if (c == ';' && depth == 1) {
+                addField(sourceClass, source, code, statementStart, i, strings);
+                statementStart = i + 1;
+            }
+        }
+    }
+
+    private static int matchingBrace(String code, int open) {
+        int depth = 0;
+        for (int i = open; i < code.length(); i++) {
+            if (code.charAt(i) == '{') {
+                depth++;
+            } else if (code.charAt(i) == '}' && --depth == 0) {
+                return i;
+            }
+        }
+        return code.length() - 1;
+    }
+
+    /** A braced member: method, constructor, or a field whose initializer has braces. */
+    private void addMember(SourceClass owner, String source, String code, int start, int headerEnd, int end,
+            Map<Integer, String> strings) {
+        String header = code.substring(start, headerEnd);
+        String signature = ANNOTATION.matcher(header).replaceAll(" ");
+        int equals = signature.indexOf('=');
+        int paren = signature.indexOf('(');
+        if (equals >= 0 && (paren < 0 || equals < paren)) {
+            // Field initializer containing a block; the statement's ';' follows and declares nothing new
+            addField(owner, source, code, start, end, strings);
+            return;
+        }
+        Matcher name = paren < 0 ? null : TRAILING_NAME.matcher(signature.substring(0, paren));
+        if (name == null || !name.find() || TYPE_DECLARATION.matcher(signature).find()) {
+            return; // initializer block or nested type: part of the class itself
+        }
+        boolean constructor = owner.simpleName().equals(name.group(1));
+        Member member = new Member(constructor ? "<init>" : name.group(1), arity(signature, paren),
+                line(source, firstCode(source, start)), line(source, end));
+        member.test = header.contains("@Test");
+        member.configuration = CONFIGURATION.matcher(header).find();
+        // Attribute values are string literals, which are blanked in code
+        String annotations = source.substring(start, headerEnd);
+        if (member.test) {
+            Matcher attribute = TEST_ATTRIBUTE.matcher(annotations);
+            while (attribute.find()) {
+                Matcher value = STRING_LITERAL.matcher(attribute.group(2));
+                if (attribute.group(1).equals("dataProvider")) {
+                    member.dataProvider = value.find() ? value.group(1) : null;
+                    continue;
+                }
+                Collection<String> values = attribute.group(1).equals("groups") ? member.groups
+                        : attribute.group(1).equals("dependsOnGroups") ? member.dependsOnGroups
+                        : member.dependsOnMethods;
+                while (value.find()) {
+                    values.add(value.group(1));
+                }
+            }
+        }
+        Matcher provider = DATA_PROVIDER.matcher(annotations);
+        if (provider.find()) {
+            Matcher providerName = NAME_ATTRIBUTE.matcher(provider.group(1) == null ? "" : provider.group(1));
+            member.providerName = providerName.find() ? providerName.group(1) : member.name;
+        }
+        collectReferences(member, code, headerEnd, end, strings);
+        owner.members.put(member.key, member);
+    }
+
+    /** Number of parameters of the parameter list opening at the paren. */
+    private static int arity(String signature, int paren) {
+        int depth = 0;
+        int commas = 0;
+        boolean empty = true;
+        for (int i = paren + 1; i < signature.length(); i++) {
+            char c = signature.charAt(i);
+            if (c == '(' || c == '<') {
+                depth++;
+            } else if (c == '>') {
+                depth--;
+            } else if (c == ')' && depth-- == 0) {
+                break;
+            } else if (c == ',' && depth == 0) {
+                commas++;
+            }
+            empty &= Character.isWhitespace(c);
+        }
+        return empty ? 0 : commas + 1;
+    }
+
+    private void addField(SourceClass owner, String source, String code, int start, int end, Map<Integer, String> strings) {
+        String statement = code.substring(start, end);
+        String declaration = ANNOTATION.matcher(statement).replaceAll(" ");
+        int equals = declaration.indexOf('=');
+        int paren = declaration.indexOf('(');
+        if (paren >= 0 && (equals < 0 || paren < equals)) {
+            return; // method without a body
+        }
+        Matcher name = TRAILING_NAME.matcher(equals < 0 ? declaration : declaration.substring(0, equals));
+        String trimmed = declaration.trim();
+        if (name.find() && !trimmed.startsWith("import") && !trimmed.startsWith("package")) {
+            Member member = new Member(name.group(1), -1, line(source, firstCode(source, start)), line(source, end));
+            if (equals >= 0) {
+                collectReferences(member, code, start + statement.indexOf('='), end, strings);
+            }
+            owner.members.put(member.key, member);
+        }
+    }
+
+    private static void collectReferences(Member member, String code, int start, int end, Map<Integer, String> strings) {
+        String text = code.substring(start, end);
+        Matcher identifier = IDENTIFIER.matcher(text);
+        while (identifier.find()) {
+            member.references.add(identifier.group());
+        }
+        Matcher call = CALL.matcher(text);
+        while (call.find()) {
+            member.calls.add(call.group(1));
+        }
+        Matcher reference = METHOD_REFERENCE.matcher(text);
+        while (reference.find()) {
+            member.calls.add(reference.group(1));
+        }
+        // Field names handed to helpers such as textsOf("mainMenuItems") or locatorOf("loginButton")
+        strings.forEach((offset, literal) -> {
+            if (offset >= start && offset < end) {
+                member.references.add(literal);
+            }
+        });
+    }
+
+    /**
+     * The source with comments and string literals blanked to spaces (newlines
+     * kept, so offsets are the same as in the original); literals that look
+     * like identifiers are collected by offset.
+     */
+    private static String blankCommentsAndStrings(String source, Map<Integer, String> strings) {
+        StringBuilder code = new StringBuilder(source.length());
+        int i = 0;
+        while (i < source.length()) {
+            char c = source.charAt(i);
+            int stop;
+            if (c == '/' && source.startsWith("//", i)) {
+                stop = source.indexOf('\n', i);
+                stop = stop < 0 ? source.length() : stop;
+            } else if (c == '/' && source.startsWith("/*", i)) {
+                stop = source.indexOf("*/", i + 2);
+                stop = stop < 0 ? source.length() : stop + 2;
+            } else if (c == '"' || c == '\'') {
+                stop = i + 1;
+                while (stop < source.length() && source.charAt(stop) != c) {
+                    stop += source.charAt(stop) == '\\' ? 2 : 1;
+                }
+                stop = Math.min(stop + 1, source.length());
+                String literal = source.substring(i + 1, Math.max(i + 1, stop - 1));
+                if (c == '"' && IDENTIFIER.matcher(literal).matches()) {
+                    strings.put(i, literal);
+                }
+            } else {
+                code.append(c);
+                i++;
+                continue;
+            }
+            for (; i < stop; i++) {
+                code.append(source.charAt(i) == '\n' ? '\n' : ' ');
+            }
+        }
+        return code.toString();
+    }
+
+    private static int firstCode(String source, int offset) {
+        while (offset < source.length() && Character.isWhitespace(source.charAt(offset))) {
+            offset++;
+        }
+        return offset;
+    }
+
+    private static int line(String source, int offset) {
+        int line = 1;
+        for (int i = 0; i < offset && i < source.length(); i++) {
+            if (source.charAt(i) == '\n') {
+                line++;
+            }
+        }
+        return line;
+    }
+
+    // ----- Suite -----
+
+    private static XmlSuite restrict(XmlSuite base, Set<String> selected) {
+        XmlSuite suite = new XmlSuite();
+        suite.setName(base.getName() + " (impacted)");
+        suite.setParallel(base.getParallel());
+        suite.setThreadCount(base.getThreadCount());
+        suite.setParameters(base.getParameters());
+        suite.setListeners(base.getListeners());
+        for (XmlTest baseTest : base.getTests()) {
+            List<XmlClass> xmlClasses = new ArrayList<>();
+            for (XmlClass baseClass : baseTest.getXmlClasses()) {
+                List<XmlInclude> includes = selected.stream()
+                        .filter(key -> key.startsWith(baseClass.getName() + "#"))
+                        .map(key -> new XmlInclude(key.substring(key.indexOf('#') + 1)))
+                        .filter(include -> baseClass.getIncludedMethods().isEmpty() || baseClass.getIncludedMethods().stream()
+                                .anyMatch(i -> i.getName().equals(include.getName())))
+                        .collect(Collectors.toList());
+                if (!includes.isEmpty()) {
+                    XmlClass xmlClass = new XmlClass(baseClass.getName(), false);
+                    xmlClass.setIncludedMethods(includes);
+                    xmlClasses.add(xmlClass);
+                }
+            }
+            if (!xmlClasses.isEmpty()) {
+                XmlTest test = new XmlTest(suite);
+                test.setName(baseTest.getName());
+                test.setThreadCount(baseTest.getThreadCount());
+                test.setParallel(baseTest.getParallel());
+                test.setParameters(baseTest.getLocalParameters());
+                test.setXmlClasses(xmlClasses);
+            }
+        }
+        return suite;
+    }
+
+    // ----- Model -----
+
+    private static final class SourceClass {
+        final String name;
+        final Path file;
+        final String superclass;
+        final Map<String, Member> members = new LinkedHashMap<>();
+        final Set<String> identifiers = new HashSet<>();
+
+        SourceClass(String name, Path file, String superclass) {
+            this.name = name;
+            this.file = file;
+            this.superclass = superclass;
+        }
+
+        String simpleName() {
+            return name.substring(name.lastIndexOf('.') + 1);
+        }
+
+        /**
+         * Key of the member spanning the line, or null for lines outside any
+         * member and for constructors, which every use of the class runs.
+         */
+        String memberAt(int line) {
+            for (Member member : members.values()) {
+                if (line >= member.firstLine && line <= member.lastLine) {
+                    return member.name.equals("<init>") ? null : name + "#" + member.key;
+                }
+            }
+            return null;
+        }
+
+        /** Every member with the name: a field, or all overloads of a method. */
+        List<Member> named(String memberName) {
+            return members.values().stream().filter(m -> m.name.equals(memberName)).collect(Collectors.toList());
+        }
+
+        List<String> memberKeys() {
+            return members.keySet().stream().map(m -> name + "#" + m).collect(Collectors.toList());
+        }
+    }
+
+    private static final class Member {
+        final String name;
+        /** The name for a field, name(parameter count) for a method or constructor. */
+        final String key;
+        final int firstLine;
+        final int lastLine;
+        final boolean method;
+        final Set<String> references = new HashSet<>();
+        final Set<String> calls = new HashSet<>();
+        final List<String> dependsOnMethods = new ArrayList<>();
+        final Set<String> dependsOnGroups = new HashSet<>();
+        final Set<String> groups = new HashSet<>();
+        /** dataProvider of a @Test method; the name a @DataProvider method provides under. */
+        String dataProvider;
+        String providerName;
+        boolean test;
+        boolean configuration;
+
+        /** @param arity parameter count of a method or constructor, -1 for a field */
+        Member(String name, int arity, int firstLine, int lastLine) {
+            this.name = name;
+            this.key = arity < 0 ? name : name + "(" + arity + ")";
+            this.firstLine = firstLine;
+            this.lastLine = lastLine;
+            this.method = arity >= 0;
+        }
+    }
+}
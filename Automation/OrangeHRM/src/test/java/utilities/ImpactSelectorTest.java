@@ -0,0 +1,220 @@
+package utilities;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * ImpactSelector on a small source tree written to a temporary directory:
+ * overloads, inherited @Test methods, test dependencies, method references
+ * in a DataProvider and classes used only by name. No browser is needed;
+ * run with -DsuiteXmlFile=testng-unit.xml.
+ */
+public class ImpactSelectorTest {
+
+    private Path sources;
+    private ImpactSelector selector;
+
+    @BeforeClass
+    public void writeSources() throws IOException {
+        sources = Files.createTempDirectory("impact-selector");
+        write("pages/LoginPage.java",
+                "package pages;",
+                "",
+                "public class LoginPage extends BasePage {",
+                "    public void login(String user) {",
+                "        clearForm();",
+                "        type(user);",
+                "    }",
+                "",
+                "    public void login(String user, String password) {",
+                "        type(user);",
+                "        type(password);",
+                "    }",
+                "",
+                "    public boolean isLogoShown() {",
+                "        return isVisible(\"logo\");",
+                "    }",
+                "",
+                "    private void clearForm() {",
+                "        driver.navigate().refresh();",
+                "    }",
+                "",
+                "    private void type(String text) {",
+                "    }",
+                "}");
+        write("tests/LoginTests.java",
+                "package tests;",
+                "",
+                "import pages.LoginPage;",
+                "",
+                "public class LoginTests {",
+                "    @Test",
+                "    public void userOnly() {",
+                "        new LoginPage().login(\"user\");",
+                "    }",
+                "",
+                "    @Test",
+                "    public void userAndPassword() {",
+                "        new LoginPage().login(\"user\", \"password\");",
+                "    }",
+                "}");
+        write("tests/AbstractLogoTests.java",
+                "package tests;",
+                "",
+                "import pages.LoginPage;",
+                "",
+                "public abstract class AbstractLogoTests {",
+                "    @Test",
+                "    public void logoShown() {",
+                "        new LoginPage().isLogoShown();",
+                "    }",
+                "}");
+        write("tests/ChromeLogoTests.java",
+                "package tests;",
+                "",
+                "public class ChromeLogoTests extends AbstractLogoTests {",
+                "}");
+        write("tests/CheckoutTests.java",
+                "package tests;",
+                "",
+                "import pages.LoginPage;",
+                "",
+                "public class CheckoutTests {",
+                "    @Test(groups = \"setup\")",
+                "    public void createAccount() {",
+                "    }",
+                "",
+                "    @Test(dependsOnGroups = \"setup\")",
+                "    public void openCart() {",
+                "    }",
+                "",
+                "    @Test(dependsOnMethods = {\"openCart\"})",
+                "    public void pay() {",
+                "        new LoginPage().login(\"user\", \"password\");",
+                "    }",
+                "",
+                "    @Test",
+                "    public void unrelated() {",
+                "    }",
+                "}");
+        write("pages/NavBar.java",
+                "package pages;",
+                "",
+                "public class NavBar extends BasePage {",
+                "    @FindBy(xpath = \"//a[.='Admin']\")",
+                "    private WebElement adminLink;",
+                "",
+                "    public void clickAdmin() {",
+                "        adminLink.click();",
+                "    }",
+                "}");
+        write("pages/Header.java",
+                "package pages;",
+                "",
+                "public class Header extends BasePage {",
+                "    public String title() {",
+                "        return \"Dashboard\";",
+                "    }",
+                "}");
+        write("tests/ModuleTests.java",
+                "package tests;",
+                "",
+                "import java.util.function.Consumer;",
+                "import pages.NavBar;",
+                "",
+                "public class ModuleTests {",
+                "    @DataProvider(name = \"modules\")",
+                "    public Object[][] modules() {",
+                "        return new Object[][] {{(Consumer<NavBar>) NavBar::clickAdmin}};",
+                "    }",
+                "",
+                "    @Test(dataProvider = \"modules\")",
+                "    public void openModule(Consumer<NavBar> click) {",
+                "        click.accept(new NavBar());",
+                "    }",
+                "}");
+        write("tests/ReflectionTests.java",
+                "package tests;",
+                "",
+                "import pages.Header;",
+                "",
+                "public class ReflectionTests {",
+                "    @Test",
+                "    public void headerByReflection() {",
+                "        PageFactory.initElements(driver, Header.class);",
+                "    }",
+                "}");
+        selector = ImpactSelector.load(sources);
+    }
+
+    @Test
+    public void changeInOneOverloadReachesItsCallers() throws IOException {
+        // clearForm() is only called by the first login overload
+        Set<String> selected = select("pages/LoginPage.java", "driver.navigate().refresh();");
+        Assert.assertTrue(selected.contains("tests.LoginTests#userOnly"), selected.toString());
+    }
+
+    @Test
+    public void changeInSecondOverloadIsNotLost() throws IOException {
+        Set<String> selected = select("pages/LoginPage.java", "type(password);");
+        Assert.assertTrue(selected.contains("tests.LoginTests#userAndPassword"), selected.toString());
+        Assert.assertTrue(selected.contains("tests.CheckoutTests#pay"), selected.toString());
+    }
+
+    @Test
+    public void inheritedTestIsSelectedOnSubclass() throws IOException {
+        Set<String> selected = select("pages/LoginPage.java", "return isVisible(\"logo\");");
+        Assert.assertTrue(selected.contains("tests.ChromeLogoTests#logoShown"), selected.toString());
+        Assert.assertFalse(selected.contains("tests.LoginTests#userOnly"), selected.toString());
+    }
+
+    @Test
+    public void dependenciesAreSelectedTransitively() throws IOException {
+        Set<String> selected = select("pages/LoginPage.java", "type(password);");
+        Assert.assertTrue(selected.containsAll(List.of(
+                "tests.CheckoutTests#pay", "tests.CheckoutTests#openCart", "tests.CheckoutTests#createAccount")),
+                selected.toString());
+        Assert.assertFalse(selected.contains("tests.CheckoutTests#unrelated"), selected.toString());
+    }
+
+    @Test
+    public void methodReferenceInDataProviderReachesTheTest() throws IOException {
+        Set<String> selected = select("pages/NavBar.java", "//a[.='Admin']");
+        Assert.assertTrue(selected.contains("tests.ModuleTests#openModule"), selected.toString());
+        Assert.assertFalse(selected.contains("tests.LoginTests#userOnly"), selected.toString());
+    }
+
+    @Test
+    public void classUsedOnlyByNameCountsAsUsedWhole() throws IOException {
+        Set<String> selected = select("pages/Header.java", "return \"Dashboard\";");
+        Assert.assertTrue(selected.contains("tests.ReflectionTests#headerByReflection"), selected.toString());
+        Assert.assertFalse(selected.contains("tests.ModuleTests#openModule"), selected.toString());
+    }
+
+    private Set<String> select(String file, String changedCode) throws IOException {
+        Path path = sources.resolve(file);
+        List<String> lines = Files.readAllLines(path);
+        for (int i = 0; i < lines.size(); i++) {
+            if (lines.get(i).contains(changedCode)) {
+                Set<String> selected = selector.select(Map.of(path.toString(), Set.of(i + 1)));
+                Assert.assertNotNull(selected, "Change should map to members");
+                return selected;
+            }
+        }
+        throw new IllegalArgumentException(changedCode + " not in " + file);
+    }
+
+    private void write(String file, String... lines) throws IOException {
+        Path path = sources.resolve(file);
+        Files.createDirectories(path.getParent());
+        Files.write(path, List.of(lines));
+    }
+}
@@ -0,0 +1,392 @@
+package utilities;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+
+/**
+ * Replays the login and dashboard flows of LoginPage/DashboardPage at the
+ * HTTP level for many simulated users at once, without browsers.
+ *
+ * One iteration of a user is: GET auth/login (session cookie and CSRF
+ * token), POST auth/validate, GET dashboard/index, the /api/v2 calls behind
+ * the dashboard widgets (Buzz posts, employees on leave, distribution by
+ * sub unit and by location), then GET auth/logout. Each user keeps its own
+ * cookies and runs on its own virtual thread when the JVM has them (Java 21+);
+ * on older JVMs each user gets a platform thread instead.
+ *
+ * Latency is recorded per step in LatencyHistogram; report() gives
+ * throughput, percentiles and errors per step. Run from the command line with
+ * LoadGenerator [users] [iterations], taking the rest from config.properties
+ * (AppBaseUrl, Role.admin.*, Load*).
+ */
+public class LoadGenerator {
+
+    private static final Logger logger = LogManager.getLogger(LoadGenerator.class);
+
+    /** The CSRF token the login page hands its Vue component as :token="&quot;...&quot;". */
+    private static final Pattern LOGIN_TOKEN = Pattern.compile(":token=\"(?:&quot;)?([^\"&]+)");
+
+    private final String baseUrl;
+    private final String username;
+    private final String password;
+    private final int users;
+    private final int iterations;
+    private final Duration rampUp;
+    private final Duration thinkTime;
+    private final HttpClient client;
+
+    private final Map<String, LatencyHistogram> steps = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final Map<String, String> firstErrors = new ConcurrentHashMap<>();
+    private final LatencyHistogram iterationTimes = new LatencyHistogram();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private volatile long elapsedNanos;
+    private volatile boolean virtualThreads;
+
+    /**
+     * @param baseUrl    the application's index.php URL, like AppBaseUrl
+     * @param users      simulated users running at the same time
+     * @param iterations flows each user runs back to back
+     * @param rampUp     time over which the users are started
+     * @param thinkTime  pause between steps of a flow
+     */
+    public LoadGenerator(String baseUrl, String username, String password, int users, int iterations,
+            Duration rampUp, Duration thinkTime) {
+        this.baseUrl = baseUrl;
+        this.username = username;
+        this.password = password;
+        this.users = users;
+        this.iterations = iterations;
+        this.rampUp = rampUp;
+        this.thinkTime = thinkTime;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    /** The Load* settings of config.properties, against AppBaseUrl as the admin role. */
+    public static LoadGenerator fromConfig(Properties config, String baseUrl) {
+        return new LoadGenerator(baseUrl,
+                config.getProperty("Role.admin.username"), config.getProperty("Role.admin.password"),
+                Integer.parseInt(config.getProperty("LoadUsers", "100")),
+                Integer.parseInt(config.getProperty("LoadIterations", "3")),
+                Duration.ofSeconds(Long.parseLong(config.getProperty("LoadRampUpSeconds", "5"))),
+                Duration.ofMillis(Long.parseLong(config.getProperty("LoadThinkTimeMillis", "0"))));
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Properties config = new Properties();
+        try (Reader reader = new FileReader("src/test/resources/config.properties")) {
+            config.load(reader);
+        }
+        if (args.length > 0) {
+            config.setProperty("LoadUsers", args[0]);
+        }
+        if (args.length > 1) {
+            config.setProperty("LoadIterations", args[1]);
+        }
+        LoadGenerator generator = fromConfig(config, config.getProperty("AppBaseUrl"));
+        generator.run();
+        generator.export(RunOutput.resolve("load-report.json"));
+    }
+
+    /** Run every user to completion. */
+    public void run() throws InterruptedException {
+        ExecutorService executor = userExecutor();
+        CountDownLatch done = new CountDownLatch(users);
+        long start = System.nanoTime();
+        long gap = users > 1 ? rampUp.toNanos() / (users - 1) : 0;
+        for (int user = 0; user < users; user++) {
+            long startAt = start + gap * user;
+            executor.execute(() -> {
+                try {
+                    pauseUntil(startAt);
+                    for (int i = 0; i < iterations; i++) {
+                        runFlow();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        elapsedNanos = System.nanoTime() - start;
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        logger.info("Load run: {} users x {} iterations on {} threads in {} s; {}", users, iterations,
+                virtualThreads ? "virtual" : "platform", elapsedNanos / 1_000_000_000.0, report());
+    }
+
+    /**
+     * One thread per user: virtual threads through Java 21's
+     * Executors.newVirtualThreadPerTaskExecutor, looked up reflectively since
+     * the project compiles for Java 17; a thread per user otherwise.
+     */
+    private ExecutorService userExecutor() {
+        try {
+            ExecutorService executor = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            virtualThreads = true;
+            return executor;
+        } catch (ReflectiveOperationException e) {
+            logger.warn("Virtual threads need Java 21; running {} users on platform threads", users);
+            virtualThreads = false;
+            return Executors.newFixedThreadPool(users, runnable -> {
+                Thread thread = new Thread(null, runnable, "load-user", 256 * 1024);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private void runFlow() throws InterruptedException {
+        Map<String, String> cookies = new LinkedHashMap<>();
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> login = send("login page", get("/auth/login", cookies), cookies, 200);
+            Matcher token = LOGIN_TOKEN.matcher(login.body());
+            if (!token.find()) {
+                throw new FlowException("login page", "no CSRF token in the login page");
+            }
+            pause();
+            HttpResponse<String> validate = send("validate", post("/auth/validate", cookies,
+                    "_token=" + encode(token.group(1)) + "&username=" + encode(username)
+                            + "&password=" + encode(password)), cookies, 302);
+            if (validate.headers().firstValue("location").orElse("").contains("/auth/login")) {
+                throw new FlowException("validate", "login rejected");
+            }
+            pause();
+            send("dashboard", get("/dashboard/index", cookies), cookies, 200);
+            for (Map.Entry<String, String> widget : widgetCalls().entrySet()) {
+                send(widget.getKey(), api(widget.getValue(), cookies), cookies, 200);
+            }
+            pause();
+            send("logout", get("/auth/logout", cookies), cookies, 302);
+            iterationTimes.record(System.nanoTime() - start);
+            completed.increment();
+        } catch (FlowException e) {
+            errors.computeIfAbsent(e.step, s -> new LongAdder()).increment();
+            firstErrors.putIfAbsent(e.step, e.getMessage());
+            logger.debug("Flow failed at {}: {}", e.step, e.getMessage());
+        }
+    }
+
+    /** The dashboard widget requests, as the dashboard page sends them. */
+    private static Map<String, String> widgetCalls() {
+        Map<String, String> calls = new LinkedHashMap<>();
+        calls.put("api buzz feed", "/api/v2/buzz/feed?limit=5&offset=0&sortOrder=DESC&sortField=share.createdAtUtc");
+        calls.put("api employees on leave", "/api/v2/dashboard/employees/leaves?date=" + LocalDate.now());
+        calls.put("api subunit distribution", "/api/v2/dashboard/employees/subunit");
+        calls.put("api location distribution", "/api/v2/dashboard/employees/locations");
+        return calls;
+    }
+
+    private HttpResponse<String> send(String step, HttpRequest request, Map<String, String> cookies, int expected)
+            throws InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = sendOnce(request);
+        } catch (IOException first) {
+            if (!"GET".equals(request.method()) || !isStaleConnection(first)) {
+                throw new FlowException(step, first.toString());
+            }
+            // The server closed a pooled keep-alive connection as it was reused. A GET is safe
+            // to resend even if the server had read it; a POST is not, and counts as an error.
+            // Only the resend is timed.
+            retries.increment();
+            start = System.nanoTime();
+            try {
+                response = sendOnce(request);
+            } catch (IOException e) {
+                throw new FlowException(step, e.toString());
+            }
+        }
+        steps.computeIfAbsent(step, s -> new LatencyHistogram()).record(System.nanoTime() - start);
+        for (String setCookie : response.headers().allValues("set-cookie")) {
+            String pair = setCookie.split(";", 2)[0];
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                String name = pair.substring(0, equals).trim();
+                String value = pair.substring(equals + 1).trim();
+                if (value.isEmpty() || setCookie.toLowerCase().contains("max-age=0")) {
+                    cookies.remove(name);
+                } else {
+                    cookies.put(name, value);
+                }
+            }
+        }
+        if (response.statusCode() != expected) {
+            throw new FlowException(step, "HTTP " + response.statusCode());
+        }
+        return response;
+    }
+
+    /**
+     * Whether a failure is a reused connection the server closed or reset. A
+     * timeout never is: resending would only add load to a target that is
+     * already slow.
+     */
+    private static boolean isStaleConnection(IOException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpTimeoutException) {
+                return false;
+            }
+            String message = String.valueOf(cause.getMessage());
+            if (message.contains("header parser received no bytes") || message.contains("Connection reset")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private HttpResponse<String> sendOnce(HttpRequest request) throws IOException, InterruptedException {
+        requests.increment();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest get(String path, Map<String, String> cookies) {
+        return request(path, cookies).GET().build();
+    }
+
+    private HttpRequest api(String path, Map<String, String> cookies) {
+        return request(path, cookies).header("Accept", "application/json").GET().build();
+    }
+
+    private HttpRequest post(String path, Map<String, String> cookies, String form) {
+        return request(path, cookies)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, Map<String, String> cookies) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30));
+        if (!cookies.isEmpty()) {
+            builder.header("Cookie", cookies.entrySet().stream()
+                    .map(cookie -> cookie.getKey() + "=" + cookie.getValue())
+                    .collect(Collectors.joining("; ")));
+        }
+        return builder;
+    }
+
+    private void pause() throws InterruptedException {
+        if (!thinkTime.isZero()) {
+            Thread.sleep(thinkTime.toMillis());
+        }
+    }
+
+    private static void pauseUntil(long nanoTime) throws InterruptedException {
+        long wait = nanoTime - System.nanoTime();
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    public long completedIterations() {
+        return completed.sum();
+    }
+
+    public long failedIterations() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    public boolean usedVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /** Latency of a step ("login page", "validate", "dashboard", "api ...", "logout"), or null. */
+    public LatencyHistogram step(String name) {
+        return steps.get(name);
+    }
+
+    /** Throughput, per-step latency percentiles and errors of the last run. */
+    public Map<String, Object> report() {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("users", users);
+        report.put("iterations_per_user", iterations);
+        report.put("virtual_threads", virtualThreads);
+        report.put("duration_s", seconds);
+        report.put("completed_iterations", completedIterations());
+        report.put("failed_iterations", failedIterations());
+        report.put("iterations_per_s", seconds == 0 ? 0 : completedIterations() / seconds);
+        report.put("requests_per_s", seconds == 0 ? 0 : requests.sum() / seconds);
+        report.put("retried_requests", retries.sum());
+        report.put("iteration", iterationTimes.summary());
+        Map<String, Object> bySteps = new LinkedHashMap<>();
+        List<String> order = new ArrayList<>(List.of("login page", "validate", "dashboard"));
+        order.addAll(widgetCalls().keySet());
+        order.add("logout");
+        for (String step : order) {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            LatencyHistogram histogram = steps.get(step);
+            if (histogram != null) {
+                summary.putAll(histogram.summary());
+            }
+            summary.put("errors", errors.getOrDefault(step, new LongAdder()).sum());
+            summary.put("first_error", firstErrors.get(step));
+            bySteps.put(step, summary);
+        }
+        report.put("steps", bySteps);
+        return report;
+    }
+
+    public void export(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.writeString(file, new Json().toJson(report()));
+    }
+
+    /** A step that failed; ends the user's current iteration. */
+    private static final class FlowException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final String step;
+
+        FlowException(String step, String message) {
+            super(message, null, false, false);
+            this.step = step;
+        }
+    }
+}
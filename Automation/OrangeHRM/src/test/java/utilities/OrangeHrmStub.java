@@ -0,0 +1,189 @@
+package utilities;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Local stand-in for the OrangeHRM endpoints LoadGenerator uses, with the
+ * same session rules: auth/login issues a session cookie and a CSRF token
+ * bound to it, auth/validate accepts only that token and the configured
+ * credentials and rotates the session, /api/v2 answers 401 without a
+ * logged-in session, and auth/logout ends it. Every response can be delayed
+ * by a fixed latency to stand in for the network.
+ */
+public class OrangeHrmStub {
+
+    private static final String PREFIX = "/web/index.php";
+    /**
+     * The JDK server closes idle keep-alive connections beyond this many (200 by
+     * default), which a client reuses and sees fail - a POST then cannot be resent.
+     */
+    private static final String MAX_IDLE_CONNECTIONS = "sun.net.httpserver.maxIdleConnections";
+    private static final String COOKIE = "orangehrm";
+    private static final Set<String> API_PATHS = Set.of(
+            "/api/v2/buzz/feed",
+            "/api/v2/dashboard/employees/leaves",
+            "/api/v2/dashboard/employees/subunit",
+            "/api/v2/dashboard/employees/locations");
+
+    private final String username;
+    private final String password;
+    private final long latencyMillis;
+    /** Session id -> CSRF token of a session on the login page, or "" once logged in. */
+    private final Map<String, String> sessions = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public OrangeHrmStub(String username, String password, long latencyMillis) {
+        this.username = username;
+        this.password = password;
+        this.latencyMillis = latencyMillis;
+    }
+
+    /**
+     * Start on a free port; returns the base URL to use in place of AppBaseUrl.
+     * Raises the JDK server's idle connection limit unless it is set, which
+     * only takes effect if no HttpServer was created in this JVM before.
+     */
+    public String start() throws IOException {
+        if (System.getProperty(MAX_IDLE_CONNECTIONS) == null) {
+            System.setProperty(MAX_IDLE_CONNECTIONS, "10000");
+        }
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "orangehrm-stub");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext(PREFIX, this::handle);
+        server.start();
+        return "http://127.0.0.1:" + server.getAddress().getPort() + PREFIX;
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    public long requests() {
+        return requests.sum();
+    }
+
+    private void handle(HttpExchange http) throws IOException {
+        requests.increment();
+        try (InputStream in = http.getRequestBody()) {
+            String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            if (latencyMillis > 0) {
+                Thread.sleep(latencyMillis);
+            }
+            String path = http.getRequestURI().getPath().substring(PREFIX.length());
+            String session = session(http);
+            String method = http.getRequestMethod();
+            if (method.equals("GET") && path.equals("/auth/login")) {
+                String id = UUID.randomUUID().toString();
+                String token = UUID.randomUUID().toString();
+                sessions.put(id, token);
+                setSession(http, id);
+                respond(http, 200, "text/html", "<!DOCTYPE html><html><body><div id=\"app\">"
+                        + "<auth-login :token=\"&quot;" + token + "&quot;\" :login-logo-src=\"&quot;&quot;\">"
+                        + "</auth-login></div></body></html>");
+            } else if (method.equals("POST") && path.equals("/auth/validate")) {
+                Map<String, String> form = form(body);
+                boolean valid = session != null && form.getOrDefault("_token", "").equals(sessions.get(session))
+                        && username.equals(form.get("username")) && password.equals(form.get("password"));
+                if (valid) {
+                    sessions.remove(session);
+                    String id = UUID.randomUUID().toString();
+                    sessions.put(id, "");
+                    setSession(http, id);
+                }
+                redirect(http, valid ? "/dashboard/index" : "/auth/login");
+            } else if (!loggedIn(session)) {
+                if (path.startsWith("/api/")) {
+                    respond(http, 401, "application/json", "{\"error\":{\"status\":\"401\",\"message\":\"Session expired\"}}");
+                } else {
+                    redirect(http, "/auth/login");
+                }
+            } else if (method.equals("GET") && path.equals("/dashboard/index")) {
+                respond(http, 200, "text/html", "<!DOCTYPE html><html><body><div id=\"app\">"
+                        + "<oxd-layout :user=\"{}\"><dashboard-index></dashboard-index></oxd-layout></div></body></html>");
+            } else if (method.equals("GET") && API_PATHS.contains(path)) {
+                respond(http, 200, "application/json", "{\"data\":[],\"meta\":{\"total\":0},\"rels\":[]}");
+            } else if (method.equals("GET") && path.equals("/auth/logout")) {
+                sessions.remove(session);
+                http.getResponseHeaders().add("Set-Cookie", COOKIE + "=; Max-Age=0; path=/web; HttpOnly");
+                redirect(http, "/auth/login");
+            } else {
+                respond(http, 404, "text/plain", "Not found");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            http.close();
+        }
+    }
+
+    private boolean loggedIn(String session) {
+        return session != null && "".equals(sessions.get(session));
+    }
+
+    private static String session(HttpExchange http) {
+        String header = http.getRequestHeaders().getFirst("Cookie");
+        if (header == null) {
+            return null;
+        }
+        for (String cookie : header.split(";")) {
+            String[] pair = cookie.trim().split("=", 2);
+            if (pair.length == 2 && pair[0].equals(COOKIE)) {
+                return pair[1];
+            }
+        }
+        return null;
+    }
+
+    private static void setSession(HttpExchange http, String id) {
+        http.getResponseHeaders().add("Set-Cookie", COOKIE + "=" + id + "; path=/web; HttpOnly");
+    }
+
+    private static void redirect(HttpExchange http, String path) throws IOException {
+        http.getResponseHeaders().add("Location", PREFIX + path);
+        http.sendResponseHeaders(302, -1);
+    }
+
+    private static void respond(HttpExchange http, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        http.getResponseHeaders().add("Content-Type", contentType + "; charset=UTF-8");
+        http.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = http.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> form(String body) {
+        return Arrays.stream(body.split("&"))
+                .map(field -> field.split("=", 2))
+                .filter(pair -> pair.length == 2)
+                .collect(Collectors.toMap(pair -> URLDecoder.decode(pair[0], StandardCharsets.UTF_8),
+                        pair -> URLDecoder.decode(pair[1], StandardCharsets.UTF_8), (a, b) -> b));
+    }
+}
@@ -0,0 +1,151 @@
+package utilities;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.TypeToken;
+
+/**
+ * HTTP exchanges recorded from the application, for ReplayServer. An archive
+ * directory holds index.json (origin and one entry per response, in the
+ * order they were received) and a bodies/ folder of response bodies named by
+ * their SHA-1, so identical bundles are stored once.
+ *
+ * Requests are matched on method, path with query, and a hash of the request
+ * body with per-run form fields (such as the CSRF _token) removed.
+ */
+public class ReplayArchive {
+
+    private static final Set<String> VOLATILE_FIELDS = Set.of("_token");
+    private static final Type INDEX = new TypeToken<Map<String, Object>>() {}.getType();
+
+    private final String origin;
+    private final List<Exchange> exchanges = new ArrayList<>();
+
+    public ReplayArchive(String origin) {
+        this.origin = origin;
+    }
+
+    /** One recorded response. */
+    public static final class Exchange {
+        public final String method;
+        public final String pathAndQuery;
+        public final String requestKey;
+        public final int status;
+        public final Map<String, List<String>> headers;
+        public final byte[] body;
+
+        public Exchange(String method, String pathAndQuery, String requestKey, int status,
+                Map<String, List<String>> headers, byte[] body) {
+            this.method = method;
+            this.pathAndQuery = pathAndQuery;
+            this.requestKey = requestKey;
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        public String key() {
+            return method + " " + pathAndQuery + " " + requestKey;
+        }
+    }
+
+    public String origin() {
+        return origin;
+    }
+
+    public synchronized List<Exchange> exchanges() {
+        return new ArrayList<>(exchanges);
+    }
+
+    public synchronized void add(Exchange exchange) {
+        exchanges.add(exchange);
+    }
+
+    /** Path and query of a URL on the archive's origin, or null for other origins. */
+    public String pathAndQuery(String url) {
+        if (!url.startsWith(origin + "/")) {
+            return null;
+        }
+        URI uri = URI.create(url);
+        return uri.getRawPath() + (uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery());
+    }
+
+    /** Match key for a request body: empty for none, else a hash without volatile form fields. */
+    public static String requestKey(String body) {
+        if (body == null || body.isEmpty()) {
+            return "";
+        }
+        String stable = body;
+        if (!body.startsWith("{") && body.contains("=")) {
+            stable = Arrays.stream(body.split("&"))
+                    .filter(field -> !VOLATILE_FIELDS.contains(field.substring(0, Math.max(field.indexOf('='), 0))))
+                    .collect(Collectors.joining("&"));
+        }
+        return sha1(stable.getBytes(StandardCharsets.UTF_8)).substring(0, 12);
+    }
+
+    public synchronized void save(Path directory) throws IOException {
+        Path bodies = Files.createDirectories(directory.resolve("bodies"));
+        List<Map<String, Object>> entries = new ArrayList<>();
+        for (Exchange exchange : exchanges) {
+            String bodyName = sha1(exchange.body);
+            Path bodyFile = bodies.resolve(bodyName);
+            if (!Files.exists(bodyFile)) {
+                Files.write(bodyFile, exchange.body);
+            }
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("method", exchange.method);
+            entry.put("path", exchange.pathAndQuery);
+            entry.put("request", exchange.requestKey);
+            entry.put("status", exchange.status);
+            entry.put("headers", exchange.headers);
+            entry.put("body", bodyName);
+            entries.add(entry);
+        }
+        Map<String, Object> index = new LinkedHashMap<>();
+        index.put("origin", origin);
+        index.put("exchanges", entries);
+        Files.writeString(directory.resolve("index.json"), new Json().toJson(index));
+    }
+
+    @SuppressWarnings("unchecked")
+    public static ReplayArchive load(Path directory) throws IOException {
+        Path indexFile = directory.resolve("index.json");
+        if (!Files.isRegularFile(indexFile)) {
+            throw new IOException("No recording at " + indexFile + "; run once with ReplayMode=record");
+        }
+        Map<String, Object> index = new Json().toType(Files.readString(indexFile), INDEX);
+        ReplayArchive archive = new ReplayArchive((String) index.get("origin"));
+        for (Map<String, Object> entry : (List<Map<String, Object>>) index.get("exchanges")) {
+            archive.add(new Exchange((String) entry.get("method"), (String) entry.get("path"),
+                    (String) entry.get("request"), ((Number) entry.get("status")).intValue(),
+                    (Map<String, List<String>>) entry.get("headers"),
+                    Files.readAllBytes(directory.resolve("bodies").resolve((String) entry.get("body")))));
+        }
+        return archive;
+    }
+
+    private static String sha1(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-1").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package utilities;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Serves a ReplayArchive on localhost so the suite runs offline with stable
+ * latency. A request gets the recorded responses for its method, path and
+ * body in the order they were recorded - the dashboard before and after an
+ * action can differ - and keeps getting the last one once they run out.
+ * That order is kept per browser session, told apart by a replay_session
+ * cookie the server hands out, so sessions running in parallel do not take
+ * responses from each other's sequence; a session whose cookies were cleared
+ * between tests starts again from the first response.
+ * A request recorded only with a different query gets the first response for
+ * its path. The recorded origin is rewritten to the server's own in headers
+ * and text bodies, and cookies lose Secure and Domain so they stick on
+ * http://127.0.0.1.
+ */
+public class ReplayServer {
+
+    private static final Logger logger = LogManager.getLogger(ReplayServer.class);
+
+    /** Cookie naming the browser's replay session; never to be shared between browsers. */
+    public static final String SESSION_COOKIE = "replay_session";
+    private static final Pattern SESSION = Pattern.compile("(?:^|;\\s*)" + SESSION_COOKIE + "=(\\d+)");
+
+    private final ReplayArchive archive;
+    private final Map<String, List<ReplayArchive.Exchange>> byRequest = new HashMap<>();
+    private final Map<String, ReplayArchive.Exchange> byPath = new HashMap<>();
+    /** Responses served so far per session, then per request key. */
+    private final Map<String, Map<String, AtomicInteger>> served = new ConcurrentHashMap<>();
+    private final AtomicLong sessions = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private HttpServer server;
+    private ExecutorService executor;
+    private String origin;
+
+    public ReplayServer(ReplayArchive archive) {
+        this.archive = archive;
+        for (ReplayArchive.Exchange exchange : archive.exchanges()) {
+            byRequest.computeIfAbsent(exchange.key(), k -> new ArrayList<>()).add(exchange);
+            byPath.putIfAbsent(exchange.method + " " + pathOnly(exchange.pathAndQuery), exchange);
+        }
+    }
+
+    /** Start on the port (0 for any free one); returns the origin to point AppUrl at. */
+    public String start(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        executor = Executors.newFixedThreadPool(8, r -> {
+            Thread thread = new Thread(r, "replay-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        origin = "http://127.0.0.1:" + server.getAddress().getPort();
+        logger.info("Replaying {} recorded responses of {} at {}", archive.exchanges().size(), archive.origin(), origin);
+        return origin;
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            logger.info("Replay server stopped; {} sessions, {} requests had no recording",
+                    sessions.get(), misses.get());
+        }
+    }
+
+    private void handle(HttpExchange http) throws IOException {
+        try (InputStream in = http.getRequestBody()) {
+            String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            String method = http.getRequestMethod();
+            String pathAndQuery = http.getRequestURI().getRawPath()
+                    + (http.getRequestURI().getRawQuery() == null ? "" : "?" + http.getRequestURI().getRawQuery());
+            String session = session(http);
+            ReplayArchive.Exchange exchange = next(session,
+                    method + " " + pathAndQuery + " " + ReplayArchive.requestKey(body));
+            if (exchange == null) {
+                exchange = byPath.get(method + " " + pathOnly(pathAndQuery));
+            }
+            if (exchange == null) {
+                misses.incrementAndGet();
+                logger.debug("No recording for {} {}", method, pathAndQuery);
+                http.sendResponseHeaders(404, -1);
+                return;
+            }
+            respond(http, exchange);
+        } finally {
+            http.close();
+        }
+    }
+
+    /** The request's replay session, handing out a new one if it has none yet. */
+    private String session(HttpExchange http) {
+        for (String cookies : http.getRequestHeaders().getOrDefault("Cookie", List.of())) {
+            Matcher matcher = SESSION.matcher(cookies);
+            if (matcher.find()) {
+                return matcher.group(1);
+            }
+        }
+        String session = String.valueOf(sessions.incrementAndGet());
+        http.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=" + session + "; Path=/");
+        return session;
+    }
+
+    private ReplayArchive.Exchange next(String session, String key) {
+        List<ReplayArchive.Exchange> responses = byRequest.get(key);
+        if (responses == null) {
+            return null;
+        }
+        int index = served.computeIfAbsent(session, s -> new ConcurrentHashMap<>())
+                .computeIfAbsent(key, k -> new AtomicInteger())
+                .getAndIncrement();
+        return responses.get(Math.min(index, responses.size() - 1));
+    }
+
+    private void respond(HttpExchange http, ReplayArchive.Exchange exchange) throws IOException {
+        boolean text = false;
+        for (Map.Entry<String, List<String>> header : exchange.headers.entrySet()) {
+            for (String value : header.getValue()) {
+                String rewritten = value.replace(archive.origin(), origin);
+                if (header.getKey().equalsIgnoreCase("set-cookie")) {
+                    rewritten = rewritten.replaceAll("(?i);\\s*(secure|domain=[^;]*)", "");
+                }
+                http.getResponseHeaders().add(header.getKey(), rewritten);
+            }
+            if (header.getKey().equalsIgnoreCase("content-type")) {
+                String type = String.join(",", header.getValue());
+                text = type.startsWith("text/") || type.contains("json") || type.contains("javascript");
+            }
+        }
+        byte[] body = text ? rewriteOrigin(exchange.body) : exchange.body;
+        boolean noBody = exchange.status == 204 || exchange.status == 304 || exchange.status / 100 == 1
+                || "HEAD".equals(exchange.method);
+        http.sendResponseHeaders(exchange.status, noBody || body.length == 0 ? -1 : body.length);
+        if (!noBody && body.length > 0) {
+            try (OutputStream out = http.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private byte[] rewriteOrigin(byte[] body) {
+        String content = new String(body, StandardCharsets.UTF_8);
+        // Plain and JSON-escaped ("https:\/\/host") forms of the origin
+        String escaped = archive.origin().replace("/", "\\/");
+        return content.replace(archive.origin(), origin)
+                .replace(escaped, origin.replace("/", "\\/"))
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String pathOnly(String pathAndQuery) {
+        int query = pathAndQuery.indexOf('?');
+        return query < 0 ? pathAndQuery : pathAndQuery.substring(0, query);
+    }
+}
@@ -0,0 +1,22 @@
+package utilities;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Directory a run writes its reports to: the runOutputDirectory system
+ * property, target when unset. Shards started side by side from one working
+ * copy each pass their own, so they do not overwrite each other's reports.
+ */
+public final class RunOutput {
+
+    private static final Path ROOT = Paths.get(System.getProperty("runOutputDirectory", "target"));
+
+    private RunOutput() {
+    }
+
+    /** A path under the run's output directory, e.g. resolve("perf"). */
+    public static Path resolve(String first, String... more) {
+        return ROOT.resolve(Paths.get(first, more));
+    }
+}
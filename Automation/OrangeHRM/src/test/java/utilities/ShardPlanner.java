@@ -0,0 +1,288 @@
+package utilities;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.testng.xml.SuiteXmlParser;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+/**
+ * Splits a TestNG suite into N suite files whose expected durations are as
+ * even as possible, using past testng-results.xml files (test-output/,
+ * target/surefire-reports/ and every shard's reports under
+ * target/shard-reports/). A method's expected duration is the time of all its
+ * invocations in one run - every DataProvider row - plus the
+ * @BeforeMethod/@AfterMethod time spent around them, averaged over the
+ * runs it appears in. Methods with no history are
+ * assumed to take the median known duration; a class whose methods depend on
+ * one another is kept in one shard. Shards are filled longest-first, each
+ * method going to the least loaded shard.
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.mainClass=utilities.ShardPlanner -Dexec.classpathScope=test -Dexec.args="4 testng.xml" -Dexec.cleanupDaemonThreads=false
+ * mvn surefire:test -DsuiteXmlFile=target/shards/shard-1.xml -DreportsDirectory=target/shard-reports/shard-1 -DrunOutputDirectory=target/shard-output/shard-1
+ * </pre>
+ * with one surefire:test process per shard, started side by side. Each shard
+ * needs its own runOutputDirectory, or the shards overwrite each other's
+ * reports (extent report, perf, command latency, locator profile, network).
+ */
+public final class ShardPlanner {
+
+    private static final Path OUTPUT = Paths.get("target", "shards");
+    private static final long UNKNOWN_DEFAULT_MS = 5_000;
+
+    private ShardPlanner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int shards = args.length > 0 ? Integer.parseInt(args[0]) : 2;
+        String suiteFile = args.length > 1 ? args[1] : "testng.xml";
+        List<Path> results = new ArrayList<>();
+        for (int i = 2; i < args.length; i++) {
+            results.add(Paths.get(args[i]));
+        }
+        if (results.isEmpty()) {
+            results = defaultResults();
+        }
+        for (Path file : plan(shards, suiteFile, results)) {
+            System.out.println(file);
+        }
+    }
+
+    /** Write shard-1.xml .. shard-N.xml to target/shards and return their paths. */
+    public static List<Path> plan(int shards, String suiteFile, List<Path> results) throws Exception {
+        XmlSuite base;
+        try (InputStream in = Files.newInputStream(Paths.get(suiteFile))) {
+            base = new SuiteXmlParser().parse(suiteFile, in, false);
+        }
+        Map<String, Long> history = durations(results);
+        List<Unit> units = units(base, history);
+
+        List<List<Unit>> assigned = new ArrayList<>();
+        long[] load = new long[shards];
+        PriorityQueue<Integer> leastLoaded = new PriorityQueue<>(Comparator.comparingLong((Integer i) -> load[i]).thenComparing(i -> i));
+        for (int i = 0; i < shards; i++) {
+            assigned.add(new ArrayList<>());
+            leastLoaded.add(i);
+        }
+        units.sort(Comparator.comparingLong((Unit u) -> u.expectedMs).reversed());
+        for (Unit unit : units) {
+            int shard = leastLoaded.poll();
+            assigned.get(shard).add(unit);
+            load[shard] += unit.expectedMs;
+            leastLoaded.add(shard);
+        }
+
+        Files.createDirectories(OUTPUT);
+        List<Path> files = new ArrayList<>();
+        for (int i = 0; i < shards; i++) {
+            Path file = OUTPUT.resolve("shard-" + (i + 1) + ".xml");
+            Files.writeString(file, suiteFor(base, i + 1, assigned.get(i)).toXml());
+            files.add(file);
+            System.out.printf("shard-%d: %d methods, expected %.1fs%n", i + 1,
+                    assigned.get(i).stream().mapToInt(u -> u.methods.size()).sum(), load[i] / 1000.0);
+        }
+        return files;
+    }
+
+    /** Expected duration in ms of each "class#method" per run, from the default result files. */
+    public static Map<String, Long> historicalDurations() throws Exception {
+        return durations(defaultResults());
+    }
+
+    private static List<Path> defaultResults() throws IOException {
+        List<Path> results = new ArrayList<>();
+        for (Path candidate : List.of(Paths.get("test-output", "testng-results.xml"),
+                Paths.get("target", "surefire-reports", "testng-results.xml"))) {
+            if (Files.isRegularFile(candidate)) {
+                results.add(candidate);
+            }
+        }
+        Path shardReports = Paths.get("target", "shard-reports");
+        if (Files.isDirectory(shardReports)) {
+            try (Stream<Path> files = Files.walk(shardReports)) {
+                files.filter(f -> f.getFileName().toString().equals("testng-results.xml")).forEach(results::add);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Expected duration in ms of each "class#method" per run: its invocations
+     * in one result file summed, with that class's per-method configuration
+     * time shared out over them, then averaged over the files it ran in.
+     */
+    static Map<String, Long> durations(List<Path> results) throws Exception {
+        Map<String, long[]> totals = new HashMap<>();
+        Map<String, Set<String>> configsByClass = new HashMap<>();
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        for (Path result : results) {
+            Document document = factory.newDocumentBuilder().parse(result.toFile());
+            NodeList classes = document.getElementsByTagName("class");
+            Map<String, Long> run = new HashMap<>();
+            Map<String, Integer> invocations = new HashMap<>();
+            for (int c = 0; c < classes.getLength(); c++) {
+                Element testClass = (Element) classes.item(c);
+                String className = testClass.getAttribute("name");
+                Set<String> perMethodConfigs = configsByClass.computeIfAbsent(className, ShardPlanner::perMethodConfigs);
+                long configMs = 0;
+                int classInvocations = 0;
+                NodeList methods = testClass.getElementsByTagName("test-method");
+                for (int m = 0; m < methods.getLength(); m++) {
+                    Element method = (Element) methods.item(m);
+                    // Skipped methods did not run, so their duration says nothing
+                    if ("SKIP".equals(method.getAttribute("status")) || method.getAttribute("duration-ms").isEmpty()) {
+                        continue;
+                    }
+                    long ms = Long.parseLong(method.getAttribute("duration-ms"));
+                    if ("true".equals(method.getAttribute("is-config"))) {
+                        if (perMethodConfigs.contains(method.getAttribute("name"))) {
+                            configMs += ms;
+                        }
+                        continue;
+                    }
+                    String key = className + "#" + method.getAttribute("name");
+                    run.merge(key, ms, Long::sum);
+                    invocations.merge(key, 1, Integer::sum);
+                    classInvocations++;
+                }
+                if (classInvocations > 0 && configMs > 0) {
+                    long perInvocation = configMs / classInvocations;
+                    invocations.forEach((key, count) -> {
+                        if (key.startsWith(className + "#")) {
+                            run.merge(key, perInvocation * count, Long::sum);
+                        }
+                    });
+                }
+            }
+            run.forEach((key, ms) -> {
+                long[] total = totals.computeIfAbsent(key, k -> new long[2]);
+                total[0] += ms;
+                total[1]++;
+            });
+        }
+        Map<String, Long> means = new HashMap<>();
+        totals.forEach((key, total) -> means.put(key, total[0] / total[1]));
+        return means;
+    }
+
+    /** Names of the @BeforeMethod/@AfterMethod methods a test class runs, inherited ones included. */
+    private static Set<String> perMethodConfigs(String className) {
+        Set<String> names = new HashSet<>();
+        try {
+            for (Class<?> type = Class.forName(className); type != null; type = type.getSuperclass()) {
+                for (Method method : type.getDeclaredMethods()) {
+                    if (method.isAnnotationPresent(BeforeMethod.class) || method.isAnnotationPresent(AfterMethod.class)) {
+                        names.add(method.getName());
+                    }
+                }
+            }
+        } catch (ClassNotFoundException e) {
+            // A class from an old run that no longer exists; its history is never looked up
+        }
+        return names;
+    }
+
+    private static List<Unit> units(XmlSuite base, Map<String, Long> history) throws ClassNotFoundException {
+        List<Long> known = history.values().stream().sorted().collect(Collectors.toList());
+        long unknown = known.isEmpty() ? UNKNOWN_DEFAULT_MS : known.get(known.size() / 2);
+        List<Unit> units = new ArrayList<>();
+        for (XmlTest test : base.getTests()) {
+            for (XmlClass xmlClass : test.getXmlClasses()) {
+                List<String> included = xmlClass.getIncludedMethods().stream().map(XmlInclude::getName).collect(Collectors.toList());
+                Map<String, Boolean> methods = new LinkedHashMap<>();
+                for (Method method : Class.forName(xmlClass.getName()).getMethods()) {
+                    Test annotation = method.getAnnotation(Test.class);
+                    if (annotation != null && annotation.enabled()
+                            && (included.isEmpty() || included.contains(method.getName()))
+                            && !xmlClass.getExcludedMethods().contains(method.getName())) {
+                        boolean dependent = annotation.dependsOnMethods().length > 0 || annotation.dependsOnGroups().length > 0;
+                        methods.merge(method.getName(), dependent, Boolean::logicalOr);
+                    }
+                }
+                List<Unit> classUnits = new ArrayList<>();
+                for (String method : methods.keySet()) {
+                    long expected = history.getOrDefault(xmlClass.getName() + "#" + method, unknown);
+                    classUnits.add(new Unit(test, xmlClass.getName(), List.of(method), expected));
+                }
+                if (methods.containsValue(true)) {
+                    long expected = classUnits.stream().mapToLong(u -> u.expectedMs).sum();
+                    units.add(new Unit(test, xmlClass.getName(), new ArrayList<>(methods.keySet()), expected));
+                } else {
+                    units.addAll(classUnits);
+                }
+            }
+        }
+        return units;
+    }
+
+    private static XmlSuite suiteFor(XmlSuite base, int number, List<Unit> units) {
+        XmlSuite suite = new XmlSuite();
+        suite.setName(base.getName() + " shard " + number);
+        suite.setParallel(base.getParallel());
+        suite.setThreadCount(base.getThreadCount());
+        suite.setParameters(base.getParameters());
+        suite.setListeners(base.getListeners());
+        Map<XmlTest, Map<String, List<String>>> byTest = new LinkedHashMap<>();
+        for (Unit unit : units) {
+            byTest.computeIfAbsent(unit.test, t -> new LinkedHashMap<>())
+                    .computeIfAbsent(unit.className, c -> new ArrayList<>()).addAll(unit.methods);
+        }
+        byTest.forEach((baseTest, classes) -> {
+            XmlTest test = new XmlTest(suite);
+            test.setName(baseTest.getName());
+            test.setThreadCount(baseTest.getThreadCount());
+            test.setParallel(baseTest.getParallel());
+            test.setParameters(baseTest.getLocalParameters());
+            List<XmlClass> xmlClasses = new ArrayList<>();
+            classes.forEach((className, methods) -> {
+                XmlClass xmlClass = new XmlClass(className, false);
+                xmlClass.setIncludedMethods(methods.stream().map(XmlInclude::new).collect(Collectors.toList()));
+                xmlClasses.add(xmlClass);
+            });
+            test.setXmlClasses(xmlClasses);
+        });
+        return suite;
+    }
+
+    /** Methods that must run in the same shard, with their expected total duration. */
+    private static final class Unit {
+        final XmlTest test;
+        final String className;
+        final List<String> methods;
+        final long expectedMs;
+
+        Unit(XmlTest test, String className, List<String> methods, long expectedMs) {
+            this.test = test;
+            this.className = className;
+            this.methods = methods;
+            this.expectedMs = expectedMs;
+        }
+    }
+}
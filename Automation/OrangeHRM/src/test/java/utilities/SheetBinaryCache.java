@@ -0,0 +1,304 @@
+package utilities;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled copy of a workbook's formatted cell values, stored next to the
+ * source as .&lt;name&gt;.xlsx.bin. The file carries the SHA-256 of the .xlsx
+ * it was built from; it is trusted without hashing while the source's size
+ * and mtime are unchanged, and rebuilt by POI when the content hash no longer
+ * matches. When only the size or mtime moved (a touch, a checkout) and the
+ * hash still matches, the header is updated so later runs skip the hash.
+ *
+ * Layout (big-endian): header, a de-duplicated string table, then for each
+ * sheet its row widths followed by the string ids of its cells column by
+ * column. The file is read with one bulk read into a heap buffer rather than
+ * mapped, so no mapping keeps it locked on Windows when it is replaced;
+ * strings are decoded on first access.
+ *
+ * Run main() with .xlsx files or directories to precompile caches as a build step:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.mainClass=utilities.SheetBinaryCache -Dexec.classpathScope=test -Dexec.args="testData"
+ * </pre>
+ */
+public final class SheetBinaryCache {
+
+    private static final int MAGIC = 0x4f485843; // "OHXC"
+    private static final int VERSION = 1;
+    private static final int HASH_LENGTH = 32;
+    /** Offset of the source length and mtime, after MAGIC and VERSION. */
+    private static final int STAMP_OFFSET = 8;
+
+    private SheetBinaryCache() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        for (String arg : args) {
+            compileAll(new File(arg));
+        }
+    }
+
+    private static void compileAll(File file) throws IOException {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                compileAll(child);
+            }
+        } else if (file.getName().endsWith(".xlsx") && !file.getName().startsWith("~$") && read(file) == null) {
+            write(file, WorkbookCache.parseWorkbook(file));
+            System.out.println("Compiled " + cacheFile(file));
+        }
+    }
+
+    /** The cache file for a workbook. */
+    public static File cacheFile(File xlsx) {
+        return new File(xlsx.getAbsoluteFile().getParentFile(), "." + xlsx.getName() + ".bin");
+    }
+
+    /** Sheets from the compiled cache, or null if there is none or it is out of date. */
+    static Map<String, WorkbookCache.Sheet> read(File xlsx) {
+        File cache = cacheFile(xlsx);
+        if (!cache.isFile()) {
+            return null;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(cache.toPath()));
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return null;
+            }
+            long length = buffer.getLong();
+            long modified = buffer.getLong();
+            byte[] hash = new byte[HASH_LENGTH];
+            buffer.get(hash);
+            if (length != xlsx.length() || modified != xlsx.lastModified()) {
+                if (!Arrays.equals(hash, sha256(xlsx))) {
+                    return null;
+                }
+                restamp(cache, xlsx);
+            }
+            return readSheets(buffer);
+        } catch (IOException | RuntimeException e) {
+            // Unreadable or truncated cache; fall back to POI
+            return null;
+        }
+    }
+
+    /** Record the source's current size and mtime after its content hash was confirmed. */
+    private static void restamp(File cache, File xlsx) {
+        ByteBuffer stamp = ByteBuffer.allocate(16).putLong(xlsx.length()).putLong(xlsx.lastModified());
+        stamp.flip();
+        try (FileChannel channel = FileChannel.open(cache.toPath(), StandardOpenOption.WRITE)) {
+            channel.write(stamp, STAMP_OFFSET);
+        } catch (IOException e) {
+            // Read-only cache; the hash is checked again next time
+        }
+    }
+
+    private static Map<String, WorkbookCache.Sheet> readSheets(ByteBuffer buffer) {
+        int stringCount = buffer.getInt();
+        IntBuffer offsets = slice(buffer, (stringCount + 1) * 4).asIntBuffer();
+        ByteBuffer bytes = slice(buffer, offsets.get(stringCount));
+        StringTable strings = new StringTable(offsets, bytes, stringCount);
+
+        Map<String, WorkbookCache.Sheet> sheets = new HashMap<>();
+        int sheetCount = buffer.getInt();
+        for (int s = 0; s < sheetCount; s++) {
+            byte[] name = new byte[buffer.getInt()];
+            buffer.get(name);
+            int lastRowNum = buffer.getInt();
+            int rowCount = buffer.getInt();
+            int columnCount = buffer.getInt();
+            IntBuffer widths = slice(buffer, rowCount * 4).asIntBuffer();
+            IntBuffer cells = slice(buffer, rowCount * columnCount * 4).asIntBuffer();
+            sheets.put(new String(name, StandardCharsets.UTF_8),
+                    new CachedSheet(lastRowNum, rowCount, widths, cells, strings));
+        }
+        return sheets;
+    }
+
+    /** Compile sheets to the cache file, ignoring failures (e.g. a read-only directory). */
+    static void writeQuietly(File xlsx, Map<String, WorkbookCache.Sheet> sheets) {
+        try {
+            write(xlsx, sheets);
+        } catch (IOException | RuntimeException e) {
+            // The cache is an optimisation only
+        }
+    }
+
+    static void write(File xlsx, Map<String, WorkbookCache.Sheet> sheets) throws IOException {
+        long length = xlsx.length();
+        long modified = xlsx.lastModified();
+        byte[] hash = sha256(xlsx);
+
+        Map<String, Integer> ids = new LinkedHashMap<>();
+        List<int[][]> columns = new ArrayList<>();
+        for (WorkbookCache.Sheet sheet : sheets.values()) {
+            int rowCount = sheet.getLastRowNum() + 1;
+            int columnCount = 0;
+            for (int r = 0; r < rowCount; r++) {
+                columnCount = Math.max(columnCount, sheet.getLastCellNum(r));
+            }
+            int[][] sheetIds = new int[columnCount][rowCount];
+            for (int c = 0; c < columnCount; c++) {
+                for (int r = 0; r < rowCount; r++) {
+                    sheetIds[c][r] = c < sheet.getLastCellNum(r)
+                            ? ids.computeIfAbsent(sheet.getCellData(r, c), key -> ids.size()) : -1;
+                }
+            }
+            columns.add(sheetIds);
+        }
+
+        Path target = cacheFile(xlsx).toPath();
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp.toFile())))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(length);
+                out.writeLong(modified);
+                out.write(hash);
+
+                List<byte[]> encoded = new ArrayList<>(ids.size());
+                for (String value : ids.keySet()) {
+                    encoded.add(value.getBytes(StandardCharsets.UTF_8));
+                }
+                out.writeInt(encoded.size());
+                int offset = 0;
+                for (byte[] value : encoded) {
+                    out.writeInt(offset);
+                    offset += value.length;
+                }
+                out.writeInt(offset);
+                for (byte[] value : encoded) {
+                    out.write(value);
+                }
+
+                out.writeInt(sheets.size());
+                int index = 0;
+                for (Map.Entry<String, WorkbookCache.Sheet> entry : sheets.entrySet()) {
+                    WorkbookCache.Sheet sheet = entry.getValue();
+                    int[][] sheetIds = columns.get(index++);
+                    int rowCount = sheet.getLastRowNum() + 1;
+                    byte[] name = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(name.length);
+                    out.write(name);
+                    out.writeInt(sheet.getLastRowNum());
+                    out.writeInt(rowCount);
+                    out.writeInt(sheetIds.length);
+                    for (int r = 0; r < rowCount; r++) {
+                        out.writeInt(sheet.getLastCellNum(r));
+                    }
+                    for (int[] column : sheetIds) {
+                        for (int id : column) {
+                            out.writeInt(id);
+                        }
+                    }
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int length) {
+        ByteBuffer slice = buffer.slice();
+        slice.limit(length);
+        buffer.position(buffer.position() + length);
+        return slice;
+    }
+
+    private static byte[] sha256(File file) throws IOException {
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] chunk = new byte[64 * 1024];
+            for (int read; (read = in.read(chunk)) > 0; ) {
+                digest.update(chunk, 0, read);
+            }
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Strings of the cached table, decoded once on first use. */
+    private static final class StringTable {
+        private final IntBuffer offsets;
+        private final ByteBuffer bytes;
+        private final String[] decoded;
+
+        StringTable(IntBuffer offsets, ByteBuffer bytes, int count) {
+            this.offsets = offsets;
+            this.bytes = bytes;
+            this.decoded = new String[count];
+        }
+
+        String get(int id) {
+            String value = decoded[id];
+            if (value == null) {
+                int start = offsets.get(id);
+                byte[] utf8 = new byte[offsets.get(id + 1) - start];
+                bytes.duplicate().position(start).get(utf8);
+                value = new String(utf8, StandardCharsets.UTF_8);
+                decoded[id] = value;
+            }
+            return value;
+        }
+    }
+
+    private static final class CachedSheet implements WorkbookCache.Sheet {
+        private final int lastRowNum;
+        private final int rowCount;
+        private final IntBuffer widths;
+        private final IntBuffer cells;
+        private final StringTable strings;
+
+        CachedSheet(int lastRowNum, int rowCount, IntBuffer widths, IntBuffer cells, StringTable strings) {
+            this.lastRowNum = lastRowNum;
+            this.rowCount = rowCount;
+            this.widths = widths;
+            this.cells = cells;
+            this.strings = strings;
+        }
+
+        @Override
+        public int getLastRowNum() {
+            return lastRowNum;
+        }
+
+        @Override
+        public int getLastCellNum(int rownum) {
+            return rownum < 0 || rownum >= rowCount ? -1 : widths.get(rownum);
+        }
+
+        @Override
+        public String getCellData(int rownum, int colnum) {
+            if (colnum < 0 || colnum >= getLastCellNum(rownum)) {
+                return "";
+            }
+            int id = cells.get(colnum * rowCount + rownum);
+            return id < 0 ? "" : strings.get(id);
+        }
+    }
+}
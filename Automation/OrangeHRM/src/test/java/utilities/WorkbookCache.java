@@ -0,0 +1,170 @@
+package utilities;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.xssf.usermodel.XSSFRow;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+/**
+ * Process-wide cache of parsed .xlsx workbooks, keyed by canonical path.
+ * A workbook is parsed once, every cell is formatted to its display string,
+ * and the POI objects are dropped; reads are then served from immutable
+ * arrays and are safe from any number of threads. An entry is re-parsed
+ * when the file's modification time or size changes.
+ *
+ * Parsed workbooks are also compiled to a binary file next to the source
+ * (see SheetBinaryCache), so later JVMs load that file instead of
+ * running POI at all until the workbook's content changes.
+ */
+public final class WorkbookCache {
+
+    private static final Map<String, CachedWorkbook> CACHE = new ConcurrentHashMap<>();
+
+    private WorkbookCache() {
+    }
+
+    /** The named sheet of the workbook at path, parsing the file only if it changed. */
+    public static Sheet sheet(String path, String sheetName) throws IOException {
+        File file = new File(path).getCanonicalFile();
+        long modified = file.lastModified();
+        long length = file.length();
+        CachedWorkbook workbook;
+        try {
+            workbook = CACHE.compute(file.getPath(), (key, cached) ->
+                    cached != null && cached.modified == modified && cached.length == length
+                            ? cached : load(file, modified, length));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        Sheet sheet = workbook.sheets.get(sheetName);
+        if (sheet == null) {
+            throw new IOException("Sheet '" + sheetName + "' not found in " + path);
+        }
+        return sheet;
+    }
+
+    /** Drop the cached copy of a workbook, e.g. after writing to it. */
+    public static void invalidate(String path) throws IOException {
+        CACHE.remove(new File(path).getCanonicalPath());
+    }
+
+    private static CachedWorkbook load(File file, long modified, long length) {
+        Map<String, Sheet> sheets = SheetBinaryCache.read(file);
+        if (sheets == null) {
+            sheets = parse(file);
+            SheetBinaryCache.writeQuietly(file, sheets);
+        }
+        return new CachedWorkbook(modified, length, sheets);
+    }
+
+    private static Map<String, Sheet> parse(File file) {
+        Map<String, Sheet> sheets = new HashMap<>();
+        DataFormatter formatter = new DataFormatter();
+        try (FileInputStream fi = new FileInputStream(file);
+             XSSFWorkbook workbook = new XSSFWorkbook(fi)) {
+            for (int s = 0; s < workbook.getNumberOfSheets(); s++) {
+                XSSFSheet sheet = workbook.getSheetAt(s);
+                sheets.put(sheet.getSheetName(), toSheet(sheet, formatter));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sheets;
+    }
+
+    /** Parse every sheet of a workbook with POI, bypassing both caches. */
+    static Map<String, Sheet> parseWorkbook(File file) throws IOException {
+        try {
+            return parse(file);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Sheet toSheet(XSSFSheet sheet, DataFormatter formatter) {
+        int lastRowNum = sheet.getLastRowNum();
+        String[][] rows = new String[Math.max(lastRowNum + 1, 0)][];
+        for (int r = 0; r < rows.length; r++) {
+            XSSFRow row = sheet.getRow(r);
+            if (row == null) {
+                continue;
+            }
+            String[] cells = new String[Math.max(row.getLastCellNum(), 0)];
+            for (int c = 0; c < cells.length; c++) {
+                String data;
+                try {
+                    data = formatter.formatCellValue(row.getCell(c));
+                } catch (Exception e) {
+                    data = "";
+                }
+                cells[c] = data;
+            }
+            rows[r] = cells;
+        }
+        return new ArraySheet(lastRowNum, rows);
+    }
+
+    private static final class CachedWorkbook {
+        final long modified;
+        final long length;
+        final Map<String, Sheet> sheets;
+
+        CachedWorkbook(long modified, long length, Map<String, Sheet> sheets) {
+            this.modified = modified;
+            this.length = length;
+            this.sheets = sheets;
+        }
+    }
+
+    /** Immutable, formatted view of one sheet. */
+    public interface Sheet {
+
+        /** Same as XSSFSheet.getLastRowNum(): index of the last row, -1 if empty. */
+        int getLastRowNum();
+
+        /** Same as XSSFRow.getLastCellNum(): one past the last cell index, -1 for a missing row. */
+        int getLastCellNum(int rownum);
+
+        /** Formatted value of a cell, or "" if the row or cell does not exist. */
+        String getCellData(int rownum, int colnum);
+    }
+
+    private static final class ArraySheet implements Sheet {
+        private final int lastRowNum;
+        private final String[][] rows;
+
+        ArraySheet(int lastRowNum, String[][] rows) {
+            this.lastRowNum = lastRowNum;
+            this.rows = rows;
+        }
+
+        @Override
+        public int getLastRowNum() {
+            return lastRowNum;
+        }
+
+        @Override
+        public int getLastCellNum(int rownum) {
+            String[] row = row(rownum);
+            return row == null ? -1 : row.length;
+        }
+
+        @Override
+        public String getCellData(int rownum, int colnum) {
+            String[] row = row(rownum);
+            return row == null || colnum < 0 || colnum >= row.length ? "" : row[colnum];
+        }
+
+        private String[] row(int rownum) {
+            return rownum < 0 || rownum >= rows.length ? null : rows[rownum];
+        }
+    }
+}